@@ -0,0 +1,207 @@
+package org.pinapp.notification;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.providers.simulated.LatencyModel;
+import org.pinapp.notification.providers.simulated.OutageWindow;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import org.slf4j.LoggerFactory;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Punto de entrada para pruebas de carga del {@link NotificationService}.
+ * <p>
+ * Complementa a {@link Main}: en lugar de un envío de ejemplo, genera tráfico a una tasa objetivo
+ * (modelo de carga abierto: los envíos se emiten a intervalos fijos sin esperar a los anteriores)
+ * contra un {@link SimulatedProvider} y reporta throughput alcanzado, percentiles de latencia
+ * extremo a extremo, reintentos y consumo de heap.
+ * </p>
+ * Los parámetros se pasan como {@code clave=valor}:
+ * <pre>
+ * java -cp app.jar org.pinapp.notification.LoadGenerator rate=2000 duration=30 latencyMs=40 errorRate=0.02
+ * </pre>
+ * <ul>
+ *     <li>{@code rate}: envíos por segundo (por defecto 500).</li>
+ *     <li>{@code duration}: duración de la prueba en segundos (por defecto 10).</li>
+ *     <li>{@code latencyMs}, {@code sigma}: mediana y dispersión de la latencia log-normal del proveedor.</li>
+ *     <li>{@code errorRate}, {@code rateLimitRate}, {@code retryAfterMs}: fallos simulados.</li>
+ *     <li>{@code outageAt}, {@code outageFor}: ventana de caída en segundos desde el inicio.</li>
+ *     <li>{@code attempts}, {@code delayMs}: política de reintentos del servicio.</li>
+ *     <li>{@code logLevel}: nivel de log durante la prueba (por defecto ERROR).</li>
+ * </ul>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "500"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "10"));
+
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.toLevel(options.getOrDefault("logLevel", "ERROR")));
+
+        SimulationProfile profile = SimulationProfile.healthy(ChannelType.EMAIL)
+                .withLatency(LatencyModel.logNormal(
+                        Duration.ofMillis(Long.parseLong(options.getOrDefault("latencyMs", "50"))),
+                        Double.parseDouble(options.getOrDefault("sigma", "0.5"))))
+                .withErrorRate(Double.parseDouble(options.getOrDefault("errorRate", "0.0")))
+                .withRateLimitRate(Double.parseDouble(options.getOrDefault("rateLimitRate", "0.0")))
+                .withRetryAfter(Duration.ofMillis(Long.parseLong(options.getOrDefault("retryAfterMs", "1000"))));
+        if (options.containsKey("outageAt")) {
+            profile = profile.withOutages(List.of(new OutageWindow(
+                    Duration.ofSeconds(Long.parseLong(options.get("outageAt"))),
+                    Duration.ofSeconds(Long.parseLong(options.getOrDefault("outageFor", "5"))))));
+        }
+
+        SimulatedProvider provider = new SimulatedProvider("SimulatedEmail", profile);
+        NotificationService service = new NotificationService(new RetryConfig(
+                Integer.parseInt(options.getOrDefault("attempts", "3")),
+                Long.parseLong(options.getOrDefault("delayMs", "100"))));
+        service.registerProvider(provider);
+
+        System.out.printf("Generando %d envíos/s durante %d s...%n", rate, durationSeconds);
+        Report report = run(service, rate, durationSeconds);
+        report.print();
+        System.out.println("Proveedor: " + provider.stats());
+    }
+
+    /**
+     * Ejecuta la prueba de carga y espera a que todas las notificaciones tengan resultado.
+     *
+     * @param service         Servicio ya configurado con sus proveedores.
+     * @param rate            Envíos por segundo a generar.
+     * @param durationSeconds Duración de la fase de generación.
+     * @return Las métricas recolectadas.
+     */
+    static Report run(NotificationService service, int rate, int durationSeconds) {
+        int total = rate * durationSeconds;
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        LongAdder retries = new LongAdder();
+        Map<NotificationStatus, LongAdder> outcomes = new EnumMap<>(NotificationStatus.class);
+        for (NotificationStatus status : NotificationStatus.values()) {
+            outcomes.put(status, new LongAdder());
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+            }
+        });
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[total];
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            EmailData data = new EmailData("load@pinapp.com", "user" + i + "@pinapp.com",
+                    "Prueba de carga", "Mensaje " + i, null, NotificationPriority.MEDIUM);
+            futures[i] = service.sendAsync(ChannelType.EMAIL, data).thenAccept(result -> {
+                latencies[index] = result.elapsed().toNanos();
+                retries.add(Math.max(0, result.attempts() - 1));
+                outcomes.get(result.status()).increment();
+                completed.incrementAndGet();
+            });
+        }
+        long generationNanos = System.nanoTime() - start;
+        CompletableFuture.allOf(futures).join();
+        long totalNanos = System.nanoTime() - start;
+        sampler.interrupt();
+
+        Arrays.sort(latencies);
+        return new Report(total, completed.get(), generationNanos, totalNanos, latencies, retries.sum(),
+                outcomes, peakHeap.get(), memory.getHeapMemoryUsage().getUsed());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera clave=valor): " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Métricas de una ejecución del generador de carga.
+     *
+     * @param requested       Envíos solicitados.
+     * @param completed       Envíos con resultado.
+     * @param generationNanos Tiempo empleado en emitir las solicitudes.
+     * @param totalNanos      Tiempo hasta el último resultado.
+     * @param sortedLatencies Latencias extremo a extremo, ordenadas de menor a mayor.
+     * @param retries         Reintentos realizados en total.
+     * @param outcomes        Cantidad de resultados por estado.
+     * @param peakHeapBytes   Máximo de heap usado observado durante la prueba.
+     * @param finalHeapBytes  Heap usado al finalizar.
+     */
+    record Report(int requested, int completed, long generationNanos, long totalNanos, long[] sortedLatencies,
+                  long retries, Map<NotificationStatus, LongAdder> outcomes, long peakHeapBytes, long finalHeapBytes) {
+
+        /** @return Envíos por segundo emitidos durante la fase de generación. */
+        double offeredRate() {
+            return requested / (generationNanos / 1e9);
+        }
+
+        /** @return Resultados por segundo, incluyendo el tiempo de drenado final. */
+        double achievedThroughput() {
+            return completed / (totalNanos / 1e9);
+        }
+
+        /**
+         * @param percentile Percentil entre 0 y 100.
+         * @return La latencia del percentil indicado.
+         */
+        Duration latency(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return Duration.ofNanos(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+        }
+
+        void print() {
+            System.out.printf("Solicitados: %d, completados: %d%n", requested, completed);
+            System.out.printf("Tasa ofrecida: %.1f/s, throughput alcanzado: %.1f/s%n", offeredRate(), achievedThroughput());
+            System.out.printf("Latencia p50=%d ms p90=%d ms p99=%d ms p99.9=%d ms max=%d ms%n",
+                    latency(50).toMillis(), latency(90).toMillis(), latency(99).toMillis(),
+                    latency(99.9).toMillis(), latency(100).toMillis());
+            System.out.printf("Reintentos: %d, resultados: %s%n", retries, outcomes);
+            System.out.printf("Heap pico: %d MB, heap final: %d MB%n", peakHeapBytes >> 20, finalHeapBytes >> 20);
+        }
+    }
+}
@@ -15,7 +15,7 @@ public class Main {
         NotificationService service = new NotificationService(new RetryConfig(3, 2000));
         service.registerProvider(new UnstableEmailProvider());
 
-        NotificationData note = new EmailData("dev@test.com", "Librería Java 21", "Funciona!","un mensaje",null ,NotificationPriority.HIGH);
+        NotificationData note = new EmailData("dev@test.com", "destino@test.com", "Librería Java 21: Funciona!","un mensaje",null ,NotificationPriority.HIGH);
         // Envío eficiente usando hilos virtuales
         service.sendAsync(ChannelType.EMAIL, note);
         Thread.sleep(10000); // Espera para ver los resultados antes de finalizar la aplicación
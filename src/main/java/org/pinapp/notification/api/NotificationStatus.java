@@ -0,0 +1,25 @@
+package org.pinapp.notification.api;
+
+/**
+ * Estado final de una notificación despachada por el servicio.
+ */
+public enum NotificationStatus {
+
+    /** El proveedor confirmó el envío en alguno de los intentos. */
+    SENT,
+
+    /** Se agotaron los reintentos sin un envío exitoso. */
+    FAILED,
+
+    /** No hay ningún proveedor registrado que soporte el canal solicitado. */
+    NO_PROVIDER,
+
+    /** La notificación no fue aceptada (por ejemplo, la cola de su tenant estaba llena). */
+    REJECTED,
+
+    /** El destinatario figura en una lista de supresión y no se intentó el envío. */
+    SUPPRESSED,
+
+    /** El envío se canceló antes de terminar (por ejemplo, un envío multicanal ya cumplió su política). */
+    CANCELLED
+}
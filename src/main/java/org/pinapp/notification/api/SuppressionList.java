@@ -0,0 +1,20 @@
+package org.pinapp.notification.api;
+
+/**
+ * Lista de destinatarios a los que no se debe enviar (bajas, rebotes o bloqueos).
+ * <p>
+ * El {@code NotificationService} consulta las listas registradas antes de despachar cada
+ * notificación; las implementaciones deben ser thread-safe y responder en tiempo constante o
+ * logarítmico, ya que la consulta se realiza en el hilo que solicita el envío.
+ * </p>
+ */
+public interface SuppressionList {
+
+    /**
+     * Indica si el destinatario está suprimido.
+     *
+     * @param recipient Dirección, número o token del destinatario.
+     * @return {@code true} si no se debe enviar al destinatario.
+     */
+    boolean isSuppressed(String recipient);
+}
@@ -0,0 +1,53 @@
+package org.pinapp.notification.api.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada por un proveedor cuando el servicio externo rechaza la petición
+ * por exceso de tráfico (por ejemplo, una respuesta HTTP 429).
+ * <p>
+ * El {@code NotificationService} respeta el valor de {@link #getRetryAfter()} como espera
+ * mínima antes del siguiente intento, aunque el backoff exponencial calculado sea menor.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class ProviderRateLimitException extends RuntimeException {
+
+    /** Nombre del proveedor que recibió el rechazo. */
+    private final String providerName;
+
+    /** Tiempo de espera sugerido por el servicio externo. */
+    private final Duration retryAfter;
+
+    /**
+     * Construye una nueva excepción de límite de tasa.
+     *
+     * @param providerName Nombre del proveedor que recibió el rechazo.
+     * @param retryAfter   Tiempo de espera sugerido antes de reintentar.
+     */
+    public ProviderRateLimitException(String providerName, Duration retryAfter) {
+        super("Límite de tasa excedido en " + providerName + ", reintentar en " + retryAfter.toMillis() + " ms");
+        this.providerName = providerName;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Obtiene el nombre del proveedor asociado al rechazo.
+     *
+     * @return {@code String} con el nombre del proveedor.
+     */
+    public String getProviderName() {
+        return providerName;
+    }
+
+    /**
+     * Obtiene el tiempo de espera sugerido por el servicio externo.
+     *
+     * @return {@link Duration} a esperar antes del próximo intento.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,105 @@
+package org.pinapp.notification.api.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Referencia con conteo a un contenido almacenado en un {@link PayloadStore}.
+ * <p>
+ * Cada notificación que apunta al contenido debe poseer su propia referencia ({@link #retain()});
+ * el {@code NotificationService} la libera cuando la notificación obtiene su resultado. Cuando la
+ * última referencia se libera, el contenido se elimina del almacén.
+ * </p>
+ * <p>
+ * Los proveedores pueden leer el contenido sin copiarlo mediante {@link #content()}, que devuelve
+ * una vista de solo lectura sobre los bytes UTF-8 almacenados (en el heap o fuera de él).
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public final class PayloadRef {
+
+    private final PayloadStore store;
+    private final PayloadStore.Digest digest;
+    private final ByteBuffer content;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    PayloadRef(PayloadStore store, PayloadStore.Digest digest, ByteBuffer content) {
+        this.store = store;
+        this.digest = digest;
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Una vista de solo lectura, posicionada al inicio, sobre los bytes UTF-8 del contenido.
+     * No copia los datos; cada llamada devuelve una vista independiente.
+     */
+    public ByteBuffer content() {
+        return content.duplicate();
+    }
+
+    /**
+     * Decodifica el contenido a {@code String}. Crea una copia; preferir {@link #content()}
+     * en los proveedores que puedan escribir bytes directamente.
+     *
+     * @return El contenido como texto.
+     */
+    public String asString() {
+        return StandardCharsets.UTF_8.decode(content()).toString();
+    }
+
+    /** @return Tamaño del contenido en bytes UTF-8. */
+    public int length() {
+        return content.capacity();
+    }
+
+    /** @return Cantidad de referencias vigentes. */
+    public int refCount() {
+        return references.get();
+    }
+
+    /**
+     * Adquiere una referencia adicional, normalmente una por notificación que apunta al contenido.
+     *
+     * @return Esta misma instancia, para encadenar en la construcción de la notificación.
+     * @throws IllegalStateException si el contenido ya fue liberado.
+     */
+    public PayloadRef retain() {
+        if (!tryRetain()) {
+            throw new IllegalStateException("El payload ya fue liberado");
+        }
+        return this;
+    }
+
+    /**
+     * Libera una referencia. Al liberar la última, el contenido se elimina del almacén.
+     *
+     * @throws IllegalStateException si se libera más veces de las adquiridas.
+     */
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            store.evict(digest, this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("El payload se liberó más veces de las retenidas");
+        }
+    }
+
+    boolean tryRetain() {
+        int current;
+        do {
+            current = references.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadRef[" + length() + " bytes, refs=" + refCount() + "]";
+    }
+}
@@ -0,0 +1,110 @@
+package org.pinapp.notification.api.payload;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Almacén de contenidos direccionado por contenido y con conteo de referencias.
+ * <p>
+ * Pensado para campañas en las que miles de notificaciones comparten el mismo cuerpo: el contenido
+ * se guarda una única vez como UTF-8 (en el heap o fuera de él) y cada notificación apunta a él
+ * mediante un {@link PayloadRef}. Internar dos veces el mismo texto devuelve la misma referencia.
+ * </p>
+ * <pre>{@code
+ * PayloadRef html = store.intern(campaignHtml);           // referencia del llamador
+ * for (String to : recipients) {
+ *     service.sendAsync(ChannelType.EMAIL, EmailData.withPayload(from, to, subject, html.retain(), priority, tenant));
+ * }
+ * html.release();                                          // el servicio libera las demás al terminar cada envío
+ * }</pre>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public final class PayloadStore {
+
+    private final boolean offHeap;
+    private final Map<Digest, PayloadRef> entries = new ConcurrentHashMap<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    private PayloadStore(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /** @return Un almacén que guarda los contenidos en arreglos del heap. */
+    public static PayloadStore onHeap() {
+        return new PayloadStore(false);
+    }
+
+    /** @return Un almacén que guarda los contenidos en buffers directos, fuera del heap. */
+    public static PayloadStore offHeap() {
+        return new PayloadStore(true);
+    }
+
+    /**
+     * Obtiene una referencia al contenido, almacenándolo si aún no existe.
+     *
+     * @param content Texto a internar.
+     * @return Una referencia ya retenida a nombre del llamador, que debe liberarla al terminar.
+     */
+    public PayloadRef intern(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Digest digest = Digest.of(bytes);
+        return entries.compute(digest, (key, existing) -> {
+            if (existing != null) {
+                if (existing.tryRetain()) {
+                    return existing;
+                }
+                // Liberado pero aún no desalojado: se reemplaza y su desalojo posterior no tendrá efecto.
+                storedBytes.addAndGet(-existing.length());
+            }
+            storedBytes.addAndGet(bytes.length);
+            return new PayloadRef(this, key, wrap(bytes));
+        });
+    }
+
+    /** @return Cantidad de contenidos distintos almacenados. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return Bytes de contenido almacenados (sin contar la estructura del almacén). */
+    public long storedBytes() {
+        return storedBytes.get();
+    }
+
+    void evict(Digest digest, PayloadRef ref) {
+        if (entries.remove(digest, ref)) {
+            storedBytes.addAndGet(-ref.length());
+        }
+    }
+
+    private ByteBuffer wrap(byte[] bytes) {
+        if (!offHeap) {
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        return direct;
+    }
+
+    /**
+     * Primeros 128 bits del SHA-256 del contenido, usados como clave del almacén.
+     */
+    record Digest(long high, long low) {
+
+        static Digest of(byte[] bytes) {
+            try {
+                ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(bytes));
+                return new Digest(hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no disponible en esta JVM", e);
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package org.pinapp.notification.api.record;
 
+import lombok.With;
 import org.pinapp.notification.api.NotificationPriority;
 import org.pinapp.notification.api.exceptions.ValidationArgumentException;
+import org.pinapp.notification.api.payload.PayloadRef;
 import java.time.LocalDateTime;
 
+@With
 public record EmailData(
 
     String from,
@@ -11,15 +14,61 @@ public record EmailData(
     String subject,
     String body,
     LocalDateTime createdAt,
-    NotificationPriority priority
+    NotificationPriority priority,
+    String tenant,
+    PayloadRef payload
 ) implements NotificationData {
     public EmailData {
         createdAt = (createdAt == null) ? LocalDateTime.now() : createdAt;
     }
+
+    /** Crea una notificación sin tenant (se asigna al tenant por defecto). */
+    public EmailData(String from, String to, String subject, String body, LocalDateTime createdAt, NotificationPriority priority) {
+        this(from, to, subject, body, createdAt, priority, null, null);
+    }
+
+    /** Crea una notificación con el cuerpo en línea. */
+    public EmailData(String from, String to, String subject, String body, LocalDateTime createdAt, NotificationPriority priority, String tenant) {
+        this(from, to, subject, body, createdAt, priority, tenant, null);
+    }
+
+    /**
+     * Crea una notificación cuyo cuerpo es un contenido compartido de un {@code PayloadStore}.
+     * La notificación toma posesión de la referencia recibida (usar {@link PayloadRef#retain()} por destinatario).
+     */
+    public static EmailData withPayload(String from, String to, String subject, PayloadRef payload, NotificationPriority priority, String tenant) {
+        return new EmailData(from, to, subject, null, null, priority, tenant, payload);
+    }
+
+    /**
+     * @return El cuerpo en línea o, si la notificación apunta a un payload compartido, su contenido
+     * decodificado. En ese caso cada llamada crea una copia del contenido completo: el código que procesa
+     * muchas notificaciones debe leer {@link #payload()} (vía {@link PayloadRef#content()}) y usar este
+     * método solo cuando {@code payload()} es {@code null}.
+     */
+    @Override
+    public String body() {
+        return (body == null && payload != null) ? payload.asString() : body;
+    }
+    /**
+     * Con un payload compartido valida su tamaño en lugar de decodificar el contenido completo.
+     */
+    @Override
+    public void validateBody() {
+        if (payload != null) {
+            if (payload.length() == 0) {
+                throw new ValidationArgumentException("El cuerpo del mensaje es obligatorio", null);
+            }
+            return;
+        }
+        NotificationData.super.validateBody();
+    }
+
+    @Override
     public void validateSpecifics() {
 
         if (subject == null || subject.isBlank()) {
-            throw new ValidationArgumentException("El asunto es obligatorio");
+            throw new ValidationArgumentException("El asunto es obligatorio", null);
         }
     }
 }
\ No newline at end of file
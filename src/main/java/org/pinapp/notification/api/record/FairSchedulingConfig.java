@@ -0,0 +1,27 @@
+package org.pinapp.notification.api.record;
+
+/**
+ * Configuración del planificador equitativo entre tenants (deficit round-robin).
+ *
+ * @param maxConcurrency Máximo de notificaciones despachadas simultáneamente por el servicio.
+ * @param defaultPolicy  Política aplicada a los tenants que no fueron registrados explícitamente.
+ */
+public record FairSchedulingConfig(
+        int maxConcurrency,
+        TenantPolicy defaultPolicy
+) {
+    public FairSchedulingConfig {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency debe ser al menos 1");
+        }
+    }
+
+    /**
+     * Crea una configuración con la política por defecto para todos los tenants.
+     * @param maxConcurrency Máximo de notificaciones en curso para todo el servicio.
+     * @return Una instancia de {@link FairSchedulingConfig}.
+     */
+    public static FairSchedulingConfig of(int maxConcurrency) {
+        return new FairSchedulingConfig(maxConcurrency, TenantPolicy.defaultPolicy());
+    }
+}
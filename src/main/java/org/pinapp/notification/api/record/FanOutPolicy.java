@@ -0,0 +1,54 @@
+package org.pinapp.notification.api.record;
+
+import java.time.Duration;
+
+/**
+ * Política de finalización de un envío multicanal ({@code NotificationService#sendMulti}).
+ *
+ * @param mode     Criterio para dar por cumplido el envío.
+ * @param required Cantidad de canales exitosos requeridos (solo para {@link Mode#FIRST_N}).
+ * @param deadline Tiempo máximo de espera; al vencer se cancelan los canales pendientes.
+ *                 {@code null} espera sin límite.
+ */
+public record FanOutPolicy(
+        Mode mode,
+        int required,
+        Duration deadline
+) {
+    /**
+     * Criterios de finalización de un envío multicanal.
+     */
+    public enum Mode {
+        /** Espera el resultado de todos los canales; se cumple si todos fueron exitosos y cancela el resto al primer fallo. */
+        ALL,
+        /** Se cumple con el primer canal exitoso y cancela el resto. */
+        ANY_SUCCESS,
+        /** Se cumple con {@code required} canales exitosos y cancela el resto. */
+        FIRST_N
+    }
+
+    public FanOutPolicy {
+        if (mode == Mode.FIRST_N && required < 1) {
+            throw new IllegalArgumentException("FIRST_N requiere al menos un canal exitoso");
+        }
+    }
+
+    /** @return Una política que espera a todos los canales. */
+    public static FanOutPolicy all() {
+        return new FanOutPolicy(Mode.ALL, 0, null);
+    }
+
+    /** @return Una política que termina con el primer canal exitoso. */
+    public static FanOutPolicy anySuccess() {
+        return new FanOutPolicy(Mode.ANY_SUCCESS, 1, null);
+    }
+
+    /**
+     * @param required Canales exitosos requeridos.
+     * @param deadline Tiempo máximo de espera.
+     * @return Una política que termina con {@code required} éxitos o al vencer el plazo.
+     */
+    public static FanOutPolicy firstN(int required, Duration deadline) {
+        return new FanOutPolicy(Mode.FIRST_N, required, deadline);
+    }
+}
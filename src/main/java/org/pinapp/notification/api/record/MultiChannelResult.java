@@ -0,0 +1,27 @@
+package org.pinapp.notification.api.record;
+
+import org.pinapp.notification.api.ChannelType;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Resultado agregado de un envío multicanal.
+ *
+ * @param results   Resultado de cada canal solicitado (los cancelados figuran como {@code CANCELLED}).
+ * @param satisfied {@code true} si se cumplió la {@link FanOutPolicy} solicitada.
+ * @param elapsed   Tiempo total hasta que se cumplió (o se abandonó) la política.
+ */
+public record MultiChannelResult(
+        Map<ChannelType, NotificationResult> results,
+        boolean satisfied,
+        Duration elapsed
+) {
+    public MultiChannelResult {
+        results = Map.copyOf(results);
+    }
+
+    /** @return Cantidad de canales por los que la notificación fue entregada. */
+    public long successCount() {
+        return results.values().stream().filter(NotificationResult::isSuccess).count();
+    }
+}
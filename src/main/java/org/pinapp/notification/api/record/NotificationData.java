@@ -2,9 +2,10 @@ package org.pinapp.notification.api.record;
 
 import org.pinapp.notification.api.NotificationPriority;
 import org.pinapp.notification.api.exceptions.ValidationArgumentException;
+import org.pinapp.notification.api.payload.PayloadRef;
 import java.time.LocalDateTime;
 
-public sealed interface NotificationData permits EmailData, SmsData, PushNotificationData {
+public sealed interface NotificationData permits EmailData, SmsData, PushNotificationData, SlackData {
 
     // --- "Propiedades" obligatorias (definidas como métodos) ---
 
@@ -18,6 +19,24 @@ public sealed interface NotificationData permits EmailData, SmsData, PushNotific
     LocalDateTime createdAt();
     /** @return La prioridad de la notificación. */
     NotificationPriority priority();
+    /**
+     * @return El tenant (equipo o aplicación interna) que origina la notificación, usado por el
+     * planificador equitativo del servicio. {@code null} asigna la notificación al tenant por defecto.
+     */
+    String tenant();
+    /**
+     * @return Contenido compartido al que apunta la notificación, o {@code null} si el cuerpo está en línea.
+     * Es la forma preferida de leer el cuerpo cuando existe, ya que {@link #body()} lo decodifica en una copia.
+     * El servicio libera esta referencia cuando la notificación obtiene su resultado.
+     */
+    default PayloadRef payload() {
+        return null;
+    }
+    /**
+     * @param to Nuevo destinatario (por ejemplo, normalizado por el servicio).
+     * @return Una copia de la notificación con otro destinatario; la misma instancia si no cambia.
+     */
+    NotificationData withTo(String to);
 
     // --- Métodos de Validación ---
 
@@ -32,27 +51,34 @@ public sealed interface NotificationData permits EmailData, SmsData, PushNotific
         validatePriority();
     }
 
+    /**
+     * Validaciones propias de cada tipo de notificación, además de {@link #validateAll()}.
+     * @throws ValidationArgumentException si algún campo falla.
+     */
+    default void validateSpecifics() {
+    }
+
     default void validateFrom() {
         if (from() == null || from().isBlank()) {
-            throw new ValidationArgumentException("El remitente es obligatorio");
+            throw new ValidationArgumentException("El remitente es obligatorio", null);
         }
     }
 
     default void validateTo() {
         if (to() == null || to().isBlank()) {
-            throw new ValidationArgumentException("El destinatario es obligatorio");
+            throw new ValidationArgumentException("El destinatario es obligatorio", null);
         }
     }
 
     default void validateBody() {
         if (body() == null || body().isBlank()) {
-            throw new ValidationArgumentException("El cuerpo del mensaje es obligatorio");
+            throw new ValidationArgumentException("El cuerpo del mensaje es obligatorio", null);
         }
     }
 
     default void validatePriority() {
         if (priority() == null) {
-            throw new ValidationArgumentException("La prioridad del mensaje es obligatoria");
+            throw new ValidationArgumentException("La prioridad del mensaje es obligatoria", null);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package org.pinapp.notification.api.record;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationStatus;
+import java.time.Duration;
+
+/**
+ * Resultado del despacho de una notificación.
+ *
+ * @param channel      Canal por el que se intentó el envío.
+ * @param providerName Nombre del proveedor utilizado, o {@code null} si no se encontró ninguno.
+ * @param status       Estado final del envío.
+ * @param attempts     Cantidad de intentos realizados contra el proveedor.
+ * @param elapsed      Tiempo total desde la solicitud hasta el resultado (incluye espera y reintentos).
+ * @param error        Última excepción registrada, o {@code null} si el envío fue exitoso.
+ */
+public record NotificationResult(
+        ChannelType channel,
+        String providerName,
+        NotificationStatus status,
+        int attempts,
+        Duration elapsed,
+        Throwable error
+) {
+    /**
+     * @return {@code true} si la notificación fue entregada al proveedor.
+     */
+    public boolean isSuccess() {
+        return status == NotificationStatus.SENT;
+    }
+}
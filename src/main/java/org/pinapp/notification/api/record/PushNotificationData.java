@@ -1,17 +1,25 @@
 package org.pinapp.notification.api.record;
 
+import lombok.With;
 import org.pinapp.notification.api.NotificationPriority;
 import java.time.LocalDateTime;
 
+@With
 public record PushNotificationData(
 
         String from,
         String to,
         String body,
         LocalDateTime createdAt,
-        NotificationPriority priority
+        NotificationPriority priority,
+        String tenant
 ) implements NotificationData {
     public PushNotificationData {
         createdAt = (createdAt == null) ? LocalDateTime.now() : createdAt;
     }
+
+    /** Crea una notificación sin tenant (se asigna al tenant por defecto). */
+    public PushNotificationData(String from, String to, String body, LocalDateTime createdAt, NotificationPriority priority) {
+        this(from, to, body, createdAt, priority, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package org.pinapp.notification.api.record;
+
+import java.time.Duration;
+
+/**
+ * Configuración de un nodo consumidor de la cola particionada compartida.
+ *
+ * @param batchSize         Máximo de notificaciones leídas y despachadas antes de confirmar el offset.
+ * @param leaseTtl          Vigencia de un lease; si el nodo no lo renueva en ese plazo, otro nodo puede tomar la partición.
+ * @param heartbeatInterval Frecuencia con la que el nodo renueva sus leases y reparte particiones (menor a la mitad del TTL).
+ * @param pollInterval      Espera entre lecturas cuando una partición no tiene notificaciones nuevas.
+ */
+public record QueueConfig(
+        int batchSize,
+        Duration leaseTtl,
+        Duration heartbeatInterval,
+        Duration pollInterval
+) {
+    public QueueConfig {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize debe ser al menos 1");
+        }
+        if (heartbeatInterval.multipliedBy(2).compareTo(leaseTtl) > 0) {
+            throw new IllegalArgumentException("El heartbeat debe ser menor a la mitad del TTL del lease");
+        }
+    }
+
+    /**
+     * Crea una configuración estándar (lotes de 64, leases de 10 s renovados cada 2 s, sondeo cada 50 ms).
+     * @return Una instancia de {@link QueueConfig} con valores estándar.
+     */
+    public static QueueConfig defaultConfig() {
+        return new QueueConfig(64, Duration.ofSeconds(10), Duration.ofSeconds(2), Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,30 @@
+package org.pinapp.notification.api.record;
+
+import lombok.With;
+import org.pinapp.notification.api.NotificationPriority;
+import java.time.LocalDateTime;
+
+/**
+ * Notificación destinada a un canal de Slack mediante un Incoming Webhook.
+ * <p>
+ * El destinatario ({@code to}) es la URL del webhook, que identifica al canal de destino.
+ * </p>
+ */
+@With
+public record SlackData(
+        String from,
+        String to,
+        String body,
+        LocalDateTime createdAt,
+        NotificationPriority priority,
+        String tenant
+) implements NotificationData {
+    public SlackData {
+        createdAt = (createdAt == null) ? LocalDateTime.now() : createdAt;
+    }
+
+    /** Crea una notificación sin tenant (se asigna al tenant por defecto). */
+    public SlackData(String from, String to, String body, LocalDateTime createdAt, NotificationPriority priority) {
+        this(from, to, body, createdAt, priority, null);
+    }
+}
@@ -1,16 +1,24 @@
 package org.pinapp.notification.api.record;
 
+import lombok.With;
 import org.pinapp.notification.api.NotificationPriority;
 import java.time.LocalDateTime;
 
+@With
 public record SmsData(
         String from,
         String to,
         String body,
         LocalDateTime createdAt,
-        NotificationPriority priority
+        NotificationPriority priority,
+        String tenant
 ) implements NotificationData {
     public SmsData {
         createdAt = (createdAt == null) ? LocalDateTime.now() : createdAt;
     }
+
+    /** Crea una notificación sin tenant (se asigna al tenant por defecto). */
+    public SmsData(String from, String to, String body, LocalDateTime createdAt, NotificationPriority priority) {
+        this(from, to, body, createdAt, priority, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.pinapp.notification.api.record;
+
+/**
+ * Política de reparto de capacidad para un tenant dentro del planificador equitativo.
+ *
+ * @param weight        Peso relativo del tenant: con pesos 3 y 1, el primero despacha tres
+ *                      notificaciones por cada una del segundo mientras ambos tengan cola.
+ * @param maxInFlight   Máximo de notificaciones del tenant en curso simultáneamente. Las prioridades
+ *                      que ignoran el throttling ({@code URGENT}, {@code HIGH}) no están sujetas a este límite.
+ * @param queueCapacity Máximo de notificaciones en espera; las que excedan el límite se rechazan.
+ */
+public record TenantPolicy(
+        int weight,
+        int maxInFlight,
+        int queueCapacity
+) {
+    public TenantPolicy {
+        if (weight < 1 || maxInFlight < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Los valores de la política de tenant deben ser positivos");
+        }
+    }
+
+    /**
+     * Crea una política estándar (peso 1, 64 en curso, 10.000 en espera).
+     * @return Una instancia de {@link TenantPolicy} con valores estándar.
+     */
+    public static TenantPolicy defaultPolicy() {
+        return new TenantPolicy(1, 64, 10_000);
+    }
+}
@@ -0,0 +1,24 @@
+package org.pinapp.notification.api.record;
+
+/**
+ * Configuración de la validación de destinatarios previa al despacho.
+ *
+ * @param cacheCapacity Máximo de destinatarios normalizados en caché por canal; {@code 0} deshabilita la caché.
+ */
+public record ValidationConfig(
+        int cacheCapacity
+) {
+    public ValidationConfig {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("La capacidad de la caché no puede ser negativa");
+        }
+    }
+
+    /**
+     * Crea una configuración estándar (100.000 destinatarios en caché por canal).
+     * @return Una instancia de {@link ValidationConfig} con valores estándar.
+     */
+    public static ValidationConfig defaultConfig() {
+        return new ValidationConfig(100_000);
+    }
+}
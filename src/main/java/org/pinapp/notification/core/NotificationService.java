@@ -3,13 +3,42 @@ package org.pinapp.notification.core;
 import lombok.extern.slf4j.Slf4j;
 import org.pinapp.notification.api.ChannelType;
 import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.SuppressionList;
+import org.pinapp.notification.api.exceptions.ProviderRateLimitException;
+import org.pinapp.notification.api.exceptions.ValidationArgumentException;
+import org.pinapp.notification.api.record.FairSchedulingConfig;
+import org.pinapp.notification.api.record.FanOutPolicy;
+import org.pinapp.notification.api.record.MultiChannelResult;
 import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
 import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.TenantPolicy;
+import org.pinapp.notification.api.record.ValidationConfig;
+import org.pinapp.notification.core.jfr.BackoffEvent;
+import org.pinapp.notification.core.jfr.NotificationEnqueuedEvent;
+import org.pinapp.notification.core.jfr.NotificationExhaustedEvent;
+import org.pinapp.notification.core.jfr.ProviderAttemptEvent;
+import org.pinapp.notification.core.jfr.QueueWaitEvent;
+import org.pinapp.notification.core.limit.AdaptiveLimiter;
+import org.pinapp.notification.core.limit.ConcurrencyLimit;
+import org.pinapp.notification.core.validation.NotificationValidator;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Servicio central encargado de la gestión y despacho de notificaciones.
@@ -18,6 +47,10 @@ import java.util.concurrent.TimeUnit;
  * (disponibles desde Java 21) para maximizar el rendimiento sin bloquear el hilo principal.
  * Incluye un mecanismo de resiliencia mediante políticas de reintento con <b>backoff exponencial</b>.
  * </p>
+ * <p>
+ * Cada etapa del envío (encolado, espera en cola, intento, backoff y agotamiento de reintentos) emite un
+ * evento de JDK Flight Recorder; ver {@link org.pinapp.notification.core.jfr}.
+ * </p>
  * * @author Carlos Catacora
  * @version 1.1
  */
@@ -27,18 +60,62 @@ public class NotificationService {
     /** Lista thread-safe de proveedores registrados. */
     private final List<NotificationProvider> providers = new CopyOnWriteArrayList<>();
 
+    /** Listas de supresión consultadas antes de despachar cada notificación. */
+    private final List<SuppressionList> suppressionLists = new CopyOnWriteArrayList<>();
+
+    /** Limitadores de concurrencia adaptativos, por proveedor. */
+    private final Map<NotificationProvider, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    /** Validación y normalización de destinatarios previa al despacho. */
+    private final NotificationValidator validator;
+
     /** Ejecutor configurado para usar hilos virtuales (Project Loom). */
     private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     /** Configuración de la política de reintentos (intentos máximos y delay base). */
     private final RetryConfig retryConfig;
 
+    /** Planificador equitativo entre tenants; {@code null} si el servicio despacha sin colas. */
+    private final TenantFairScheduler scheduler;
+
     /**
      * Construye un nuevo servicio de notificaciones con una configuración de reintento específica.
      * * @param retryConfig Objeto con los parámetros para la gestión de fallos.
      */
     public NotificationService(RetryConfig retryConfig) {
+        this(retryConfig, null, ValidationConfig.defaultConfig());
+    }
+
+    /**
+     * Construye un servicio sin colas por tenant con una caché de validación de tamaño específico.
+     * * @param retryConfig Objeto con los parámetros para la gestión de fallos.
+     * @param validation Capacidad de la caché de destinatarios normalizados.
+     */
+    public NotificationService(RetryConfig retryConfig, ValidationConfig validation) {
+        this(retryConfig, null, validation);
+    }
+
+    /**
+     * Construye un servicio que reparte la capacidad de despacho entre tenants mediante
+     * deficit round-robin, en lugar de lanzar un hilo virtual por notificación sin límite.
+     * * @param retryConfig Objeto con los parámetros para la gestión de fallos.
+     * @param fairScheduling Concurrencia máxima y política por defecto de los tenants.
+     */
+    public NotificationService(RetryConfig retryConfig, FairSchedulingConfig fairScheduling) {
+        this(retryConfig, fairScheduling, ValidationConfig.defaultConfig());
+    }
+
+    /**
+     * Construye un servicio con planificación por tenant y una caché de validación de tamaño específico.
+     * * @param retryConfig Objeto con los parámetros para la gestión de fallos.
+     * @param fairScheduling Concurrencia máxima y política por defecto de los tenants, o {@code null} para
+     *                       despachar sin colas.
+     * @param validation Capacidad de la caché de destinatarios normalizados.
+     */
+    public NotificationService(RetryConfig retryConfig, FairSchedulingConfig fairScheduling, ValidationConfig validation) {
         this.retryConfig = retryConfig;
+        this.scheduler = (fairScheduling == null) ? null : new TenantFairScheduler(executor, fairScheduling);
+        this.validator = new NotificationValidator(validation.cacheCapacity());
     }
 
     /**
@@ -49,24 +126,112 @@ public class NotificationService {
         this.providers.add(provider);
     }
 
+    /**
+     * Registra un proveedor cuya concurrencia se ajusta de forma adaptativa según su latencia y sus errores.
+     * <p>
+     * Los envíos que exceden el límite vigente esperan en el servicio en lugar de acumularse en el
+     * proveedor, evitando que un proveedor degradado arrastre la latencia de toda la cola. Con planificación
+     * por tenant esperan en la cola de su tenant, sin ocupar lugares de despacho que necesitan los demás canales.
+     * </p>
+     * * @param provider Instancia del proveedor que implementa {@link NotificationProvider}.
+     * @param limit Algoritmo de límite (por ejemplo {@link org.pinapp.notification.core.limit.AimdLimit}
+     *              o {@link org.pinapp.notification.core.limit.GradientLimit}).
+     */
+    public void registerProvider(NotificationProvider provider, ConcurrencyLimit limit) {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(limit);
+        if (scheduler != null) {
+            limiter.onRelease(scheduler::onCapacityAvailable);
+        }
+        this.limiters.put(provider, limiter);
+        this.providers.add(provider);
+    }
+
+    /**
+     * Registra una lista de supresión (bajas, rebotes, bloqueos). Los destinatarios presentes en
+     * cualquiera de las listas registradas no llegan a ningún proveedor.
+     * * @param suppressionList Lista a consultar antes de cada despacho.
+     */
+    public void registerSuppressionList(SuppressionList suppressionList) {
+        this.suppressionLists.add(suppressionList);
+    }
+
+    /**
+     * Define el peso, la cuota de envíos en curso y el tamaño de cola de un tenant.
+     * Requiere que el servicio haya sido construido con {@link FairSchedulingConfig}.
+     * * @param tenant Identificador del tenant (ver {@link NotificationData#tenant()}).
+     * @param policy Política a aplicar.
+     */
+    public void registerTenant(String tenant, TenantPolicy policy) {
+        if (scheduler == null) {
+            throw new IllegalStateException("El servicio no fue configurado con planificación por tenant");
+        }
+        scheduler.registerTenant(tenant, policy);
+    }
+
+    /**
+     * @return Aciertos y fallos de la caché de destinatarios normalizados.
+     */
+    public NotificationValidator.CacheStats validationCacheStats() {
+        return validator.cacheStats();
+    }
+
     /**
      * Lógica interna de ejecución con reintentos y retroceso exponencial.
      * <p>
      * El tiempo de espera entre intentos se calcula como: {@code delayMillis * 2^(intentos-1)}.
+     * Si el proveedor responde con {@link ProviderRateLimitException}, se espera al menos
+     * el tiempo indicado por el servicio externo. Si el hilo es interrumpido (por ejemplo, al
+     * cancelar un envío multicanal) no se realizan más intentos y el resultado es
+     * {@link NotificationStatus#CANCELLED}.
+     * </p>
+     * <p>
+     * Si el proveedor tiene un límite de concurrencia adaptativo, cada intento espera un lugar antes de
+     * llamarlo e informa su latencia al liberarlo; los intentos fallidos cuentan como señal de saturación.
+     * El primer intento puede llegar con el lugar ya reservado por el planificador.
      * </p>
      * * @param provider El proveedor seleccionado para el envío.
+     * @param type El canal por el que se realiza el envío.
      * @param notification Los datos de la notificación a enviar.
+     * @param startNanos Instante (en {@link System#nanoTime()}) en que se solicitó el envío.
+     * @param reserved Lugar ya reservado en el limitador del proveedor para el primer intento, o {@code null}.
+     * @return El resultado final del envío.
      */
-    private void executeWithRetry(NotificationProvider provider, NotificationData notification) {
+    private NotificationResult executeWithRetry(NotificationProvider provider, ChannelType type,
+                                                NotificationData notification, long startNanos,
+                                                AdaptiveLimiter.Permit reserved) {
+        AdaptiveLimiter limiter = limiters.get(provider);
         int attempts = 0;
+        Exception lastError = null;
 
         while (attempts < retryConfig.maxAttempts()) {
+            if (Thread.currentThread().isInterrupted()) {
+                if (reserved != null) {
+                    limiter.cancel(reserved);
+                }
+                log.info("Envío cancelado tras {} intentos vía {}", attempts, provider.getProviderName());
+                return result(type, provider, NotificationStatus.CANCELLED, attempts, startNanos, lastError);
+            }
+            ProviderAttemptEvent attemptEvent = new ProviderAttemptEvent();
+            AdaptiveLimiter.Permit permit = reserved;
+            reserved = null;
             try {
+                sendLimited(provider, limiter, permit, notification, attemptEvent);
                 attempts++;
-                provider.send(notification);
+                commitAttempt(attemptEvent, provider, type, notification, attempts, null);
                 log.info("Notificación enviada exitosamente en el intento {} vía {}", attempts, provider.getProviderName());
-                return;
+                return result(type, provider, NotificationStatus.SENT, attempts, startNanos, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Envío cancelado esperando capacidad del proveedor {}", provider.getProviderName());
+                return result(type, provider, NotificationStatus.CANCELLED, attempts, startNanos, lastError);
             } catch (Exception e) {
+                attempts++;
+                lastError = e;
+                commitAttempt(attemptEvent, provider, type, notification, attempts, e);
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Envío cancelado durante el intento {} vía {}", attempts, provider.getProviderName());
+                    return result(type, provider, NotificationStatus.CANCELLED, attempts, startNanos, e);
+                }
                 log.warn("Intento {} fallido para el proveedor {}: {}", attempts, provider.getProviderName(), e.getMessage());
 
                 if (attempts >= retryConfig.maxAttempts()) {
@@ -74,24 +239,103 @@ public class NotificationService {
                     break;
                 }
 
-                waitBeforeRetry(attempts);
+                Duration minimumWait = (e instanceof ProviderRateLimitException rateLimit) ? rateLimit.getRetryAfter() : Duration.ZERO;
+                waitBeforeRetry(provider, attempts, minimumWait);
             }
         }
+        NotificationExhaustedEvent exhausted = new NotificationExhaustedEvent();
+        if (exhausted.shouldCommit()) {
+            exhausted.provider = provider.getProviderName();
+            exhausted.channel = type.name();
+            exhausted.priority = String.valueOf(notification.priority());
+            exhausted.attempts = attempts;
+            exhausted.elapsed = System.nanoTime() - startNanos;
+            exhausted.lastError = String.valueOf(lastError);
+            exhausted.commit();
+        }
+        return result(type, provider, NotificationStatus.FAILED, attempts, startNanos, lastError);
+    }
+
+    /**
+     * Cierra y, si está habilitado, registra el evento de un intento.
+     * * @param error Excepción del intento, o {@code null} si fue exitoso.
+     */
+    private static void commitAttempt(ProviderAttemptEvent event, NotificationProvider provider, ChannelType type,
+                                      NotificationData notification, int attempt, Exception error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.provider = provider.getProviderName();
+            event.channel = type.name();
+            event.priority = String.valueOf(notification.priority());
+            event.attempt = attempt;
+            if (error == null) {
+                event.outcome = NotificationStatus.SENT.name();
+            } else {
+                event.outcome = Thread.currentThread().isInterrupted() ? NotificationStatus.CANCELLED.name()
+                        : (error instanceof ProviderRateLimitException) ? "RATE_LIMITED" : NotificationStatus.FAILED.name();
+                event.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Llama al proveedor respetando su límite de concurrencia, si lo tiene.
+     * * @param provider El proveedor a invocar.
+     * @param limiter Su limitador, o {@code null} si no tiene límite.
+     * @param permit Lugar ya reservado en el limitador, o {@code null} para esperar uno; se libera al terminar.
+     * @param notification Los datos de la notificación a enviar.
+     * @param attemptEvent Evento del intento; se inicia al llamar al proveedor, después de obtener capacidad.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera capacidad.
+     */
+    private static void sendLimited(NotificationProvider provider, AdaptiveLimiter limiter, AdaptiveLimiter.Permit permit,
+                                    NotificationData notification, ProviderAttemptEvent attemptEvent)
+            throws InterruptedException {
+        if (limiter == null) {
+            attemptEvent.begin();
+            provider.send(notification);
+            return;
+        }
+        if (permit == null) {
+            permit = limiter.acquire();
+        }
+        boolean dropped = true;
+        try {
+            attemptEvent.begin();
+            provider.send(notification);
+            dropped = false;
+        } finally {
+            limiter.release(permit, dropped);
+        }
     }
 
     /**
      * Pausa la ejecución del hilo actual antes de realizar un nuevo intento.
-     * * @param attempts Número de intentos realizados hasta el momento, usado para calcular el backoff.
+     * * @param provider El proveedor cuyo intento falló.
+     * @param attempts Número de intentos realizados hasta el momento, usado para calcular el backoff.
+     * @param minimumWait Espera mínima exigida por el proveedor (por ejemplo, un {@code Retry-After}).
      */
-    private void waitBeforeRetry(int attempts) {
+    private void waitBeforeRetry(NotificationProvider provider, int attempts, Duration minimumWait) {
+        // Backoff exponencial simple: base * 2^(intentos-1)
+        long backoff = retryConfig.delayMillis() * (1L << (attempts - 1));
+        long sleepTime = Math.max(backoff, minimumWait.toMillis());
+        BackoffEvent event = new BackoffEvent();
+        event.begin();
         try {
-            // Backoff exponencial simple: base * 2^(intentos-1)
-            long sleepTime = retryConfig.delayMillis() * (1L << (attempts - 1));
             log.debug("Esperando {} ms antes del próximo intento (Intento: {})", sleepTime, attempts);
             TimeUnit.MILLISECONDS.sleep(sleepTime);
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
             log.error("El hilo fue interrumpido durante el backoff en el intento {}: {}", attempts, ie.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.provider = provider.getProviderName();
+                event.attempt = attempts;
+                event.requestedDelay = sleepTime;
+                event.rateLimited = sleepTime > backoff;
+                event.commit();
+            }
         }
     }
 
@@ -102,28 +346,282 @@ public class NotificationService {
      * y delega la tarea al {@code ExecutorService} de hilos virtuales. Si no se encuentra
      * un proveedor adecuado, se registra un error en el log.
      * </p>
+     * <p>
+     * Si el servicio usa planificación por tenant, la notificación espera en la cola de su
+     * {@link NotificationData#tenant()} y se resuelve como {@link NotificationStatus#REJECTED}
+     * cuando esa cola está llena. En ese caso, y cuando el ejecutor del servicio está cerrado, el error es una
+     * {@link RejectedExecutionException}: la notificación no se intentó y puede volver a enviarse más tarde.
+     * </p>
+     * <p>
+     * Antes de encolar, la notificación se valida y su destinatario se normaliza (email, E.164, token push
+     * o webhook); si es inválida, el resultado es {@link NotificationStatus#REJECTED} de inmediato, con una
+     * {@link ValidationArgumentException} como error, sin consumir intentos del proveedor. Luego se consultan
+     * las listas de supresión registradas con el destinatario normalizado; si figura en alguna, el resultado
+     * es {@link NotificationStatus#SUPPRESSED}.
+     * </p>
+     * <p>
+     * Si la notificación apunta a un payload compartido ({@link NotificationData#payload()}), el servicio
+     * libera esa referencia cuando la notificación obtiene su resultado, cualquiera sea el estado.
+     * </p>
      * * @param type El tipo de canal (ej. EMAIL, SMS).
      * @param notification El contenido y destinatario de la notificación.
+     * @return Un {@link CompletableFuture} que se completa con el resultado final del envío.
      */
-    public void sendAsync(ChannelType type, NotificationData notification) {
+    public CompletableFuture<NotificationResult> sendAsync(ChannelType type, NotificationData notification) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        if (notification.payload() != null) {
+            future.whenComplete((result, error) -> releasePayload(notification));
+        }
+
         if (executor.isShutdown()) {
             log.error("CRÍTICO: El ejecutor está cerrado.");
-            return;
+            future.complete(new NotificationResult(type, null, NotificationStatus.FAILED, 0, Duration.ZERO,
+                    new RejectedExecutionException("El ejecutor está cerrado")));
+            return future;
         }
 
-        executor.submit(() -> {
+        Admission admission = admit(type, notification, startNanos);
+        if (admission.rejection() != null) {
+            future.complete(admission.rejection());
+            return future;
+        }
+        NotificationData normalized = admission.notification();
+
+        NotificationProvider provider = findProvider(type);
+        Consumer<AdaptiveLimiter.Permit> task = permit -> {
             try {
-                providers.stream()
-                        .filter(p -> p.supports(type))
-                        .findFirst()
-                        .ifPresentOrElse(
-                                p -> executeWithRetry(p, notification),
-                                () -> log.error("ERROR: No se encontró proveedor para el canal: " + type)
-                        );
+                commitQueueWait(type, normalized, startNanos);
+                future.complete(dispatch(provider, type, normalized, startNanos, permit));
             } catch (Exception e) {
                 log.error("ERROR en hilo virtual: " + e.getMessage());
                 e.printStackTrace();
+                future.complete(result(type, null, NotificationStatus.FAILED, 0, startNanos, e));
+            }
+        };
+
+        boolean accepted = true;
+        if (scheduler == null) {
+            executor.submit(() -> task.accept(null));
+        } else {
+            // El lugar en el proveedor se reserva antes que el del planificador: un proveedor saturado no
+            // retiene concurrencia que necesitan los demás canales y tenants.
+            AdaptiveLimiter limiter = (provider == null) ? null : limiters.get(provider);
+            accepted = scheduler.submit(normalized.tenant(), normalized.priority(), limiter, task);
+        }
+        commitEnqueued(type, normalized, accepted);
+        if (!accepted) {
+            log.warn("Cola llena para el tenant {}, se rechaza la notificación a: {}", normalized.tenant(), normalized.to());
+            future.complete(result(type, null, NotificationStatus.REJECTED, 0, startNanos,
+                    new RejectedExecutionException("Cola llena para el tenant " + normalized.tenant())));
+        }
+        return future;
+    }
+
+    private static void commitEnqueued(ChannelType type, NotificationData normalized, boolean accepted) {
+        NotificationEnqueuedEvent event = new NotificationEnqueuedEvent();
+        if (event.shouldCommit()) {
+            event.channel = type.name();
+            event.priority = String.valueOf(normalized.priority());
+            event.tenant = normalized.tenant();
+            event.accepted = accepted;
+            event.commit();
+        }
+    }
+
+    private static void commitQueueWait(ChannelType type, NotificationData normalized, long enqueuedNanos) {
+        QueueWaitEvent event = new QueueWaitEvent();
+        if (event.shouldCommit()) {
+            event.channel = type.name();
+            event.priority = String.valueOf(normalized.priority());
+            event.tenant = normalized.tenant();
+            event.queueWait = System.nanoTime() - enqueuedNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Envía el mismo evento por varios canales en paralelo y devuelve un único resultado agregado.
+     * <p>
+     * Los proveedores se resuelven una sola vez por canal y cada canal se ejecuta, con su política
+     * de reintentos, en un hilo virtual propio dentro de un ámbito estructurado: cuando la
+     * {@link FanOutPolicy} se cumple, deja de poder cumplirse (o vence su plazo) los canales pendientes se interrumpen y el
+     * resultado solo se publica después de que todos sus hilos terminaron, por lo que no quedan
+     * hilos huérfanos. Los canales cancelados figuran como {@link NotificationStatus#CANCELLED}.
+     * </p>
+     * <p>
+     * Los envíos multicanal no pasan por la cola de tenants: están pensados para eventos urgentes
+     * (alertas de seguridad) que no deben esperar detrás de campañas.
+     * </p>
+     * * @param channels Canales por los que enviar.
+     * @param notificationFor Construye la notificación de cada canal (cada canal tiene su propio destinatario).
+     * @param policy Criterio de finalización.
+     * @return Un {@link CompletableFuture} con el resultado agregado.
+     */
+    public CompletableFuture<MultiChannelResult> sendMulti(Set<ChannelType> channels,
+                                                           Function<ChannelType, NotificationData> notificationFor,
+                                                           FanOutPolicy policy) {
+        long startNanos = System.nanoTime();
+        Map<ChannelType, NotificationData> notifications = new EnumMap<>(ChannelType.class);
+        try {
+            channels.forEach(channel -> notifications.put(channel, notificationFor.apply(channel)));
+        } catch (RuntimeException e) {
+            // Las notificaciones ya construidas retienen sus payloads y nadie más las va a liberar.
+            notifications.values().forEach(NotificationService::releasePayload);
+            throw e;
+        }
+
+        if (executor.isShutdown()) {
+            log.error("CRÍTICO: El ejecutor está cerrado.");
+            notifications.values().forEach(NotificationService::releasePayload);
+            return CompletableFuture.failedFuture(new IllegalStateException("El ejecutor está cerrado"));
+        }
+
+        CompletableFuture<MultiChannelResult> future = new CompletableFuture<>();
+        executor.submit(() -> {
+            try {
+                future.complete(fanOut(notifications, policy, startNanos));
+            } catch (Exception e) {
+                log.error("ERROR en envío multicanal: " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                notifications.values().forEach(NotificationService::releasePayload);
             }
         });
+        return future;
+    }
+
+    private MultiChannelResult fanOut(Map<ChannelType, NotificationData> notifications, FanOutPolicy policy,
+                                      long startNanos) throws InterruptedException {
+        Map<ChannelType, NotificationResult> results = new EnumMap<>(ChannelType.class);
+        BlockingQueue<NotificationResult> completed = new LinkedBlockingQueue<>();
+        long deadlineNanos = (policy.deadline() == null) ? 0 : startNanos + policy.deadline().toNanos();
+        int successes = 0;
+        int failures = 0;
+        int pending = 0;
+
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<ChannelType, NotificationData> entry : notifications.entrySet()) {
+                ChannelType type = entry.getKey();
+                Admission admission = admit(type, entry.getValue(), startNanos);
+                if (admission.rejection() != null) {
+                    results.put(type, admission.rejection());
+                    failures++;
+                    continue;
+                }
+                NotificationProvider provider = findProvider(type);
+                scope.submit(() -> completed.add(dispatch(provider, type, admission.notification(), startNanos, null)));
+                pending++;
+            }
+
+            while (pending > 0 && !isSatisfied(policy, successes, failures, pending)) {
+                NotificationResult next = (policy.deadline() == null)
+                        ? completed.take()
+                        : completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    log.warn("Venció el plazo del envío multicanal con {} canales pendientes", pending);
+                    break;
+                }
+                results.put(next.channel(), next);
+                pending--;
+                if (next.isSuccess()) {
+                    successes++;
+                } else {
+                    failures++;
+                }
+            }
+            // Cancela los canales que sigan en curso; close() espera a que sus hilos terminen.
+            scope.shutdownNow();
+        }
+
+        for (NotificationResult late = completed.poll(); late != null; late = completed.poll()) {
+            results.put(late.channel(), late);
+        }
+        for (ChannelType type : notifications.keySet()) {
+            results.putIfAbsent(type, result(type, null, NotificationStatus.CANCELLED, 0, startNanos, null));
+        }
+        long totalSuccesses = results.values().stream().filter(NotificationResult::isSuccess).count();
+        boolean satisfied = switch (policy.mode()) {
+            case ALL -> totalSuccesses == notifications.size();
+            case ANY_SUCCESS -> totalSuccesses >= 1;
+            case FIRST_N -> totalSuccesses >= policy.required();
+        };
+        return new MultiChannelResult(results, satisfied, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Indica si ya no es necesario esperar más canales: la política se cumplió o ya no puede cumplirse.
+     */
+    private static boolean isSatisfied(FanOutPolicy policy, int successes, int failures, int pending) {
+        return switch (policy.mode()) {
+            case ALL -> failures > 0;
+            case ANY_SUCCESS -> successes >= 1;
+            case FIRST_N -> successes >= policy.required() || successes + pending < policy.required();
+        };
+    }
+
+    /**
+     * Resultado de los controles previos al encolado.
+     *
+     * @param notification La notificación a despachar, con el destinatario normalizado.
+     * @param rejection    El resultado de rechazo, o {@code null} si la notificación puede despacharse.
+     */
+    private record Admission(NotificationData notification, NotificationResult rejection) {
+    }
+
+    /**
+     * Controles previos al encolado: validación y normalización, y luego listas de supresión.
+     */
+    private Admission admit(ChannelType type, NotificationData notification, long startNanos) {
+        NotificationData normalized;
+        try {
+            normalized = validator.validate(type, notification);
+        } catch (ValidationArgumentException e) {
+            log.warn("Notificación inválida para {}, se rechaza: {}", notification.to(), e.getMessage());
+            return new Admission(notification, result(type, null, NotificationStatus.REJECTED, 0, startNanos, e));
+        }
+        if (isSuppressed(normalized)) {
+            log.info("Destinatario suprimido, no se envía la notificación a: {}", normalized.to());
+            return new Admission(normalized, result(type, null, NotificationStatus.SUPPRESSED, 0, startNanos, null));
+        }
+        return new Admission(normalized, null);
+    }
+
+    private NotificationProvider findProvider(ChannelType type) {
+        return providers.stream()
+                .filter(p -> p.supports(type))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private NotificationResult dispatch(NotificationProvider provider, ChannelType type,
+                                        NotificationData notification, long startNanos, AdaptiveLimiter.Permit reserved) {
+        if (provider == null) {
+            log.error("ERROR: No se encontró proveedor para el canal: " + type);
+            return result(type, null, NotificationStatus.NO_PROVIDER, 0, startNanos, null);
+        }
+        return executeWithRetry(provider, type, notification, startNanos, reserved);
+    }
+
+    private static void releasePayload(NotificationData notification) {
+        if (notification.payload() != null) {
+            notification.payload().release();
+        }
+    }
+
+    private boolean isSuppressed(NotificationData notification) {
+        for (SuppressionList suppressionList : suppressionLists) {
+            if (suppressionList.isSuppressed(notification.to())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static NotificationResult result(ChannelType type, NotificationProvider provider, NotificationStatus status,
+                                             int attempts, long startNanos, Throwable error) {
+        String providerName = (provider == null) ? null : provider.getProviderName();
+        return new NotificationResult(type, providerName, status, attempts,
+                Duration.ofNanos(System.nanoTime() - startNanos), error);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,243 @@
+package org.pinapp.notification.core;
+
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.record.FairSchedulingConfig;
+import org.pinapp.notification.api.record.TenantPolicy;
+import org.pinapp.notification.core.limit.AdaptiveLimiter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Planificador equitativo entre tenants basado en <b>deficit round-robin</b>.
+ * <p>
+ * Cada tenant tiene su propia cola acotada, ordenada por {@link NotificationPriority} y luego por
+ * orden de llegada. Los tenants con cola se recorren en ronda; en cada visita un tenant acumula
+ * tantos créditos como su peso y despacha una notificación por crédito, de modo que un tenant
+ * que encola una campaña masiva no puede retrasar más de una ronda a los demás.
+ * </p>
+ * <p>
+ * El despacho está limitado por la concurrencia global y por el {@code maxInFlight} de cada tenant;
+ * las prioridades que ignoran el throttling solo respetan el límite global. Si el proveedor de una
+ * notificación tiene un {@link AdaptiveLimiter}, su lugar se reserva antes de ocupar uno del planificador:
+ * una notificación cuyo proveedor está saturado queda en la cola sin consumir concurrencia, y el tenant sigue
+ * despachando las de sus otros canales. Todo el estado se protege con un {@link ReentrantLock}
+ * (no {@code synchronized}, para no fijar hilos virtuales) y el despacho ocurre en el hilo que encola,
+ * que completa una tarea o que libera capacidad en un proveedor, sin hilos dedicados.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class TenantFairScheduler {
+
+    /** Tenant asignado a las notificaciones que no indican uno. */
+    static final String DEFAULT_TENANT = "default";
+
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final TenantPolicy defaultPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    /** Tenants con notificaciones en espera, en orden de ronda. */
+    private final ArrayDeque<TenantQueue> active = new ArrayDeque<>();
+    private int inFlight;
+    private long sequence;
+
+    TenantFairScheduler(ExecutorService executor, FairSchedulingConfig config) {
+        this.executor = executor;
+        this.maxConcurrency = config.maxConcurrency();
+        this.defaultPolicy = config.defaultPolicy();
+    }
+
+    /**
+     * Registra (o actualiza) la política de un tenant.
+     */
+    void registerTenant(String tenant, TenantPolicy policy) {
+        lock.lock();
+        try {
+            tenantQueue(tenant).policy = policy;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Encola una tarea para el tenant indicado y despacha lo que la capacidad permita.
+     *
+     * @param limiter Limitador del proveedor destino, o {@code null} si no tiene; la tarea recibe el lugar
+     *                reservado en él y debe liberarlo.
+     * @return {@code false} si la cola del tenant está llena y la tarea fue rechazada.
+     */
+    boolean submit(String tenant, NotificationPriority priority, AdaptiveLimiter limiter,
+                   Consumer<AdaptiveLimiter.Permit> task) {
+        lock.lock();
+        try {
+            TenantQueue queue = tenantQueue(tenant);
+            if (queue.size >= queue.policy.queueCapacity()) {
+                return false;
+            }
+            queue.add(new Entry(priority == null ? NotificationPriority.MEDIUM : priority, sequence++, limiter, task));
+            if (!queue.active) {
+                queue.active = true;
+                queue.deficit = 0;
+                active.addLast(queue);
+            }
+            dispatch();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reintenta el despacho tras liberarse capacidad en el limitador de un proveedor.
+     */
+    void onCapacityAvailable() {
+        lock.lock();
+        try {
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TenantQueue tenantQueue(String tenant) {
+        return tenants.computeIfAbsent(tenant == null ? DEFAULT_TENANT : tenant, k -> new TenantQueue(defaultPolicy));
+    }
+
+    /**
+     * Ronda de deficit round-robin. Debe invocarse con el lock tomado.
+     */
+    private void dispatch() {
+        int blockedInARow = 0;
+        while (inFlight < maxConcurrency && !active.isEmpty() && blockedInARow < active.size()) {
+            TenantQueue queue = active.peekFirst();
+            if (queue.deficit <= 0) {
+                queue.deficit += queue.policy.weight();
+            }
+            while (queue.deficit > 0 && inFlight < maxConcurrency && startNext(queue)) {
+                queue.deficit--;
+                blockedInARow = 0;
+            }
+
+            if (queue.size == 0) {
+                active.pollFirst();
+                queue.active = false;
+                queue.deficit = 0;
+            } else if (queue.deficit <= 0) {
+                active.addLast(active.pollFirst());
+            } else if (inFlight < maxConcurrency) {
+                // Bloqueado por su propio maxInFlight o por proveedores saturados: conserva los créditos y cede el turno.
+                active.addLast(active.pollFirst());
+                blockedInARow++;
+            }
+        }
+    }
+
+    /**
+     * Despacha la notificación más prioritaria del tenant cuyo proveedor tenga capacidad. Debe invocarse
+     * con el lock tomado.
+     *
+     * @return {@code false} si el tenant no puede despachar ninguna.
+     */
+    private boolean startNext(TenantQueue queue) {
+        for (Entry head : queue.runnableHeads()) {
+            AdaptiveLimiter.Permit permit = null;
+            if (head.limiter() != null && (permit = head.limiter().tryAcquire()) == null) {
+                continue;
+            }
+            queue.remove(head);
+            start(queue, head, permit);
+            return true;
+        }
+        return false;
+    }
+
+    private void start(TenantQueue queue, Entry entry, AdaptiveLimiter.Permit permit) {
+        inFlight++;
+        queue.inFlight++;
+        executor.submit(() -> {
+            try {
+                entry.task().accept(permit);
+            } finally {
+                complete(queue);
+            }
+        });
+    }
+
+    private void complete(TenantQueue queue) {
+        lock.lock();
+        try {
+            inFlight--;
+            queue.inFlight--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Notificación en espera dentro de la cola de un tenant.
+     */
+    private record Entry(NotificationPriority priority, long sequence, AdaptiveLimiter limiter,
+                         Consumer<AdaptiveLimiter.Permit> task) {
+    }
+
+    /**
+     * Estado de un tenant. Solo se accede con el lock del planificador tomado.
+     * <p>
+     * Las notificaciones se agrupan por limitador de proveedor (la clave {@code null} reúne las que no tienen),
+     * de modo que un proveedor saturado solo detiene su propio grupo; son pocos grupos, uno por proveedor limitado.
+     * </p>
+     */
+    private static final class TenantQueue {
+        private static final Comparator<Entry> ORDER =
+                Comparator.comparingInt((Entry e) -> e.priority().getWeight()).thenComparingLong(Entry::sequence);
+
+        private final Map<AdaptiveLimiter, PriorityQueue<Entry>> pending = new HashMap<>();
+        private TenantPolicy policy;
+        private int size;
+        private int deficit;
+        private int inFlight;
+        private boolean active;
+
+        TenantQueue(TenantPolicy policy) {
+            this.policy = policy;
+        }
+
+        void add(Entry entry) {
+            pending.computeIfAbsent(entry.limiter(), k -> new PriorityQueue<>(ORDER)).add(entry);
+            size++;
+        }
+
+        void remove(Entry head) {
+            pending.get(head.limiter()).poll();
+            size--;
+        }
+
+        /**
+         * @return La primera notificación de cada grupo que la cuota del tenant permite despachar, en orden de prioridad.
+         */
+        List<Entry> runnableHeads() {
+            List<Entry> heads = new ArrayList<>(pending.size());
+            for (PriorityQueue<Entry> group : pending.values()) {
+                Entry head = group.peek();
+                if (head != null && (inFlight < policy.maxInFlight() || head.priority().shouldBypassThrottling())) {
+                    heads.add(head);
+                }
+            }
+            heads.sort(ORDER);
+            return heads;
+        }
+    }
+}
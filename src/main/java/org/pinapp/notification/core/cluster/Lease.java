@@ -0,0 +1,52 @@
+package org.pinapp.notification.core.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estado de coordinación de una partición, guardado en su archivo {@code lease}.
+ * <p>
+ * El offset confirmado vive en el mismo archivo que el dueño para que confirmar sea una única escritura
+ * protegida por el mismo lock: un nodo cuyo lease fue tomado por otro (generación distinta) no puede
+ * confirmar offsets, aunque siga procesando por haber estado pausado.
+ * </p>
+ *
+ * @param owner           Nodo dueño, o {@code ""} si la partición está libre.
+ * @param generation      Se incrementa en cada toma de la partición; sirve de token de exclusión (fencing).
+ * @param expiresAtMillis Instante (reloj de pared) en que vence el lease si no se renueva.
+ * @param committedOffset Posición del log hasta la que las notificaciones ya fueron despachadas.
+ */
+record Lease(
+        String owner,
+        long generation,
+        long expiresAtMillis,
+        long committedOffset
+) {
+    static final Lease FREE = new Lease("", 0, 0, 0);
+
+    boolean isHeldBy(String node, long generation) {
+        return owner.equals(node) && this.generation == generation;
+    }
+
+    boolean isAvailable(long nowMillis) {
+        return owner.isEmpty() || expiresAtMillis <= nowMillis;
+    }
+
+    ByteBuffer toBytes() {
+        byte[] ownerBytes = owner.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + ownerBytes.length + 3 * Long.BYTES);
+        buffer.putInt(ownerBytes.length).put(ownerBytes)
+                .putLong(generation).putLong(expiresAtMillis).putLong(committedOffset);
+        return buffer.flip();
+    }
+
+    static Lease fromBytes(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return FREE;
+        }
+        byte[] ownerBytes = new byte[buffer.getInt()];
+        buffer.get(ownerBytes);
+        return new Lease(new String(ownerBytes, StandardCharsets.UTF_8),
+                buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,168 @@
+package org.pinapp.notification.core.cluster;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.PushNotificationData;
+import org.pinapp.notification.api.record.SlackData;
+import org.pinapp.notification.api.record.SmsData;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de las notificaciones en el log de cada partición.
+ * <p>
+ * Cada registro es un frame {@code [longitud:int][crc32c:int][contenido]}. El CRC permite descartar un registro
+ * dañado, y la longitud permite distinguir un registro que un productor todavía está escribiendo (se relee más
+ * tarde) de uno completo. Los payloads compartidos se materializan en el cuerpo: el log no puede contener
+ * referencias a la memoria de un proceso.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public final class NotificationCodec {
+
+    /** Tamaño del encabezado de cada frame (longitud y CRC). */
+    public static final int HEADER_BYTES = 8;
+
+    /** Tamaño máximo de un registro; un valor mayor en el encabezado indica un log dañado. */
+    public static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private static final byte VERSION = 1;
+    private static final byte EMAIL = 'E';
+    private static final byte SMS = 'S';
+    private static final byte PUSH = 'P';
+    private static final byte SLACK = 'K';
+
+    private NotificationCodec() {
+    }
+
+    /**
+     * @param notification Notificación a serializar.
+     * @return El frame completo (encabezado y contenido), listo para agregarse al log.
+     */
+    public static ByteBuffer encode(QueuedNotification notification) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(new byte[HEADER_BYTES]);
+            NotificationData data = notification.data();
+            out.writeByte(VERSION);
+            writeString(out, notification.id());
+            writeString(out, notification.channel().name());
+            out.writeByte(switch (data) {
+                case EmailData e -> EMAIL;
+                case SmsData s -> SMS;
+                case PushNotificationData p -> PUSH;
+                case SlackData k -> SLACK;
+            });
+            writeString(out, data.from());
+            writeString(out, data.to());
+            writeString(out, (data instanceof EmailData email) ? email.subject() : null);
+            if (data.payload() != null) {
+                writeBytes(out, data.payload().content());
+            } else {
+                writeString(out, data.body());
+            }
+            writeString(out, (data.createdAt() == null) ? null : data.createdAt().toString());
+            writeString(out, (data.priority() == null) ? null : data.priority().name());
+            writeString(out, data.tenant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        int length = frame.capacity() - HEADER_BYTES;
+        if (length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("La notificación excede el tamaño máximo de registro: " + length);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(frame.array(), HEADER_BYTES, length);
+        frame.putInt(0, length).putInt(4, (int) crc.getValue());
+        return frame;
+    }
+
+    /**
+     * Lee el contenido de un frame cuyo encabezado ya fue validado.
+     *
+     * @param content Contenido del frame (sin encabezado), entre su posición y su límite.
+     * @return La notificación decodificada, con el cuerpo en línea.
+     */
+    public static QueuedNotification decode(ByteBuffer content) {
+        byte version = content.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Versión de registro no soportada: " + version);
+        }
+        String id = readString(content);
+        ChannelType channel = ChannelType.valueOf(readString(content));
+        byte kind = content.get();
+        String from = readString(content);
+        String to = readString(content);
+        String subject = readString(content);
+        String body = readString(content);
+        String createdAt = readString(content);
+        String priority = readString(content);
+        String tenant = readString(content);
+
+        LocalDateTime created = (createdAt == null) ? null : LocalDateTime.parse(createdAt);
+        NotificationPriority prio = (priority == null) ? null : NotificationPriority.valueOf(priority);
+        NotificationData data = switch (kind) {
+            case EMAIL -> new EmailData(from, to, subject, body, created, prio, tenant);
+            case SMS -> new SmsData(from, to, body, created, prio, tenant);
+            case PUSH -> new PushNotificationData(from, to, body, created, prio, tenant);
+            case SLACK -> new SlackData(from, to, body, created, prio, tenant);
+            default -> throw new IllegalStateException("Tipo de notificación desconocido: " + kind);
+        };
+        return new QueuedNotification(id, channel, data);
+    }
+
+    /**
+     * @param frame  Buffer con el frame completo (encabezado en la posición actual).
+     * @param length Longitud del contenido indicada en el encabezado.
+     * @return {@code true} si el CRC del contenido coincide con el del encabezado.
+     */
+    static boolean checksumMatches(ByteBuffer frame, int length) {
+        int expected = frame.getInt(frame.position() + 4);
+        CRC32C crc = new CRC32C();
+        crc.update(frame.slice(frame.position() + HEADER_BYTES, length));
+        return (int) crc.getValue() == expected;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** Escribe los bytes UTF-8 de un payload con el mismo formato que {@link #writeString}, sin decodificarlos. */
+    private static void writeBytes(DataOutputStream out, ByteBuffer content) throws IOException {
+        out.writeInt(content.remaining());
+        byte[] chunk = new byte[Math.min(content.remaining(), 8192)];
+        while (content.hasRemaining()) {
+            int length = Math.min(chunk.length, content.remaining());
+            content.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
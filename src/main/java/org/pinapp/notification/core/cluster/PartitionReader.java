@@ -0,0 +1,112 @@
+package org.pinapp.notification.core.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector del log de una partición, que recorre sus segmentos en orden.
+ * <p>
+ * Un segmento queda sellado cuando un productor crea su sucesor: desde entonces no recibe más escrituras, por lo
+ * que un registro incompleto al final de un segmento sellado es el de un productor caído y se descarta.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Slf4j
+final class PartitionReader implements AutoCloseable {
+
+    private final PartitionedQueue queue;
+    private final int partition;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel segment;
+    private long base;
+
+    PartitionReader(PartitionedQueue queue, int partition) {
+        this.queue = queue;
+        this.partition = partition;
+    }
+
+    /**
+     * Lee hasta {@code max} registros completos a partir de {@code offset}.
+     *
+     * @return Los registros leídos y el offset siguiente al último; sin registros ni avance si no hay nada nuevo.
+     */
+    PartitionedQueue.Batch read(long offset, int max) throws IOException {
+        while (true) {
+            if (!open(offset)) {
+                return new PartitionedQueue.Batch(List.of(), List.of(), offset, buffer);
+            }
+            PartitionedQueue.Batch batch = readSegment(offset, max);
+            if (!batch.notifications().isEmpty() || batch.nextOffset() != offset) {
+                return batch;
+            }
+            long end = base + segment.size();
+            if (!Files.exists(queue.segmentFile(partition, end))) {
+                return batch;
+            }
+            // Sellado: una nueva lectura ya ve el contenido definitivo del segmento.
+            batch = readSegment(offset, max);
+            if (!batch.notifications().isEmpty() || batch.nextOffset() != offset) {
+                return batch;
+            }
+            if (end > offset) {
+                log.error("Se descartan {} bytes incompletos al final del segmento {} de la partición {}", end - offset, base, partition);
+            }
+            offset = end;
+        }
+    }
+
+    private PartitionedQueue.Batch readSegment(long offset, int max) throws IOException {
+        PartitionedQueue.Batch batch = PartitionedQueue.read(segment, buffer, offset - base, max);
+        buffer = batch.buffer();
+        List<Long> offsets = batch.offsets().stream().map(relative -> base + relative).toList();
+        return new PartitionedQueue.Batch(batch.notifications(), offsets, base + batch.nextOffset(), buffer);
+    }
+
+    /**
+     * Abre el segmento que contiene el offset, si no es el actual.
+     *
+     * @return {@code false} si la partición todavía no tiene segmentos.
+     */
+    private boolean open(long offset) throws IOException {
+        if (segment != null && offset >= base) {
+            long end = base + segment.size();
+            if (offset < end || (offset == end && !Files.exists(queue.segmentFile(partition, end)))) {
+                return true;
+            }
+        }
+        Map.Entry<Long, Path> containing = queue.segments(partition).floorEntry(offset);
+        if (containing == null) {
+            return false;
+        }
+        if (segment != null && containing.getKey() == base) {
+            return true;
+        }
+        close();
+        try {
+            segment = FileChannel.open(containing.getValue(), StandardOpenOption.READ);
+            base = containing.getKey();
+            return true;
+        } catch (NoSuchFileException e) {
+            // Borrado por otro nodo que ya lo consumió: este lector perdió la partición.
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package org.pinapp.notification.core.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.record.NotificationData;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola de notificaciones particionada sobre un directorio compartido entre procesos o nodos.
+ * <p>
+ * Estructura del directorio:
+ * </p>
+ * <pre>
+ * queue/
+ *   partitions              cantidad de particiones (fija al crear la cola)
+ *   p-000/&lt;offset&gt;.log      segmento del log, nombrado por el offset de su primer byte (ver {@link NotificationCodec})
+ *   p-000/append.lock       lock de escritura del log
+ *   p-000/lease             dueño, generación, vencimiento y offset confirmado (ver {@link Lease})
+ *   nodes/&lt;nodo&gt;.node       vencimiento del heartbeat de cada nodo vivo
+ * </pre>
+ * <p>
+ * El log de cada partición se divide en segmentos: los productores pasan a uno nuevo cuando el último supera
+ * {@code segmentBytes}, y al confirmar un offset se borran los segmentos ya consumidos por completo, de modo que
+ * el disco solo retiene lo pendiente. Un offset es la posición de un byte en el log completo de la partición.
+ * </p>
+ * <p>
+ * La exclusión entre procesos usa {@link FileLock} (locks de archivo del sistema operativo); dentro de una misma
+ * JVM, donde esos locks no excluyen, se suma un {@link ReentrantLock} por archivo. Las notificaciones se
+ * reparten por destinatario, de modo que las de un mismo destinatario conservan su orden.
+ * </p>
+ * <p>
+ * Los datos se escriben sin {@code fsync}: sobreviven a la caída de un proceso, no a la del sistema operativo.
+ * Los leases usan el reloj de pared, por lo que los nodos deben tener los relojes sincronizados.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Slf4j
+public class PartitionedQueue implements AutoCloseable {
+
+    /** Tamaño a partir del cual los productores pasan a un segmento nuevo, si no se indica otro. */
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** Locks dentro de esta JVM, por archivo, compartidos entre todas las instancias. */
+    private static final Map<Path, ReentrantLock> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final int partitions;
+    private final long segmentBytes;
+    /** Canales de escritura abiertos por partición. */
+    private final Map<Integer, Appender> appenders = new ConcurrentHashMap<>();
+
+    private PartitionedQueue(Path directory, int partitions, long segmentBytes) {
+        this.directory = directory;
+        this.partitions = partitions;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Abre la cola del directorio indicado, creándola si no existe, con segmentos de {@link #DEFAULT_SEGMENT_BYTES}.
+     *
+     * @param directory  Directorio compartido.
+     * @param partitions Cantidad de particiones; debe coincidir con la de una cola existente.
+     * @return La cola abierta.
+     * @throws IOException si no puede crearse la estructura del directorio.
+     */
+    public static PartitionedQueue open(Path directory, int partitions) throws IOException {
+        return open(directory, partitions, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Abre la cola del directorio indicado, creándola si no existe.
+     *
+     * @param directory    Directorio compartido.
+     * @param partitions   Cantidad de particiones; debe coincidir con la de una cola existente.
+     * @param segmentBytes Tamaño a partir del cual los productores de esta instancia pasan a un segmento nuevo.
+     * @return La cola abierta.
+     * @throws IOException si no puede crearse la estructura del directorio.
+     */
+    public static PartitionedQueue open(Path directory, int partitions, long segmentBytes) throws IOException {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("La cola debe tener al menos una partición");
+        }
+        if (segmentBytes < 1) {
+            throw new IllegalArgumentException("segmentBytes debe ser positivo");
+        }
+        Path root = directory.toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve("nodes"));
+        PartitionedQueue queue = new PartitionedQueue(root, partitions, segmentBytes);
+        queue.locked(root.resolve("partitions"), channel -> {
+            ByteBuffer stored = ByteBuffer.allocate(Integer.BYTES);
+            if (channel.read(stored, 0) == Integer.BYTES) {
+                int existing = stored.flip().getInt();
+                if (existing != partitions) {
+                    throw new IllegalStateException("La cola en " + root + " tiene " + existing + " particiones, no " + partitions);
+                }
+            } else {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, partitions), 0);
+            }
+            return null;
+        });
+        for (int p = 0; p < partitions; p++) {
+            Files.createDirectories(queue.partitionDir(p));
+        }
+        return queue;
+    }
+
+    /** @return Cantidad de particiones. */
+    public int partitions() {
+        return partitions;
+    }
+
+    /**
+     * Agrega una notificación con un id aleatorio.
+     *
+     * @return El id asignado.
+     */
+    public String enqueue(ChannelType channel, NotificationData data) {
+        String id = UUID.randomUUID().toString();
+        enqueue(new QueuedNotification(id, channel, data));
+        return id;
+    }
+
+    /**
+     * Agrega una notificación al log de su partición. Es visible para el nodo dueño en cuanto el método retorna.
+     *
+     * @param notification Notificación a encolar; si apunta a un payload compartido, su contenido se copia al log
+     *                     y la referencia se libera, como lo haría el servicio al enviarla.
+     */
+    public void enqueue(QueuedNotification notification) {
+        ByteBuffer frame;
+        try {
+            frame = NotificationCodec.encode(notification);
+        } finally {
+            if (notification.data().payload() != null) {
+                notification.data().payload().release();
+            }
+        }
+        int partition = partitionFor(notification.data());
+        try {
+            Appender appender = appenders.computeIfAbsent(partition, this::openAppender);
+            ReentrantLock local = localLock(partitionDir(partition).resolve("append.lock"));
+            local.lock();
+            try (FileLock ignored = appender.lock.lock()) {
+                // El segmento actual pudo llenarse, o sellarlo otro productor (que puede usar otro segmentBytes).
+                if (appender.segment == null || appender.segment.size() >= segmentBytes
+                        || Files.exists(segmentFile(partition, appender.base + appender.segment.size()))) {
+                    roll(partition, appender);
+                }
+                while (frame.hasRemaining()) {
+                    appender.segment.write(frame);
+                }
+            } finally {
+                local.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo encolar la notificación " + notification.id(), e);
+        }
+    }
+
+    /**
+     * @return La partición de la notificación, según su destinatario.
+     */
+    public int partitionFor(NotificationData data) {
+        return (data.to() == null) ? 0 : Math.floorMod(data.to().hashCode(), partitions);
+    }
+
+    // --- Leases (usados por QueueWorker) ---
+
+    /**
+     * Toma la partición si está libre o su lease venció.
+     *
+     * @return El nuevo lease, o {@code null} si otro nodo la tiene.
+     */
+    Lease tryAcquire(int partition, String node, long ttlMillis) throws IOException {
+        return locked(leaseFile(partition), channel -> {
+            Lease current = readLease(channel);
+            long now = System.currentTimeMillis();
+            if (!current.isAvailable(now) && !current.owner().equals(node)) {
+                return null;
+            }
+            Lease acquired = new Lease(node, current.generation() + 1, now + ttlMillis, current.committedOffset());
+            writeLease(channel, acquired);
+            return acquired;
+        });
+    }
+
+    /**
+     * Extiende el lease si el nodo sigue siendo su dueño.
+     *
+     * @return {@code false} si otro nodo tomó la partición.
+     */
+    boolean renew(int partition, String node, long generation, long ttlMillis) throws IOException {
+        return update(partition, node, generation,
+                lease -> new Lease(node, generation, System.currentTimeMillis() + ttlMillis, lease.committedOffset()));
+    }
+
+    /**
+     * Confirma el offset procesado, solo si el nodo sigue siendo dueño de la misma generación del lease, y borra
+     * los segmentos que quedaron consumidos por completo.
+     *
+     * @return {@code false} si el nodo perdió la partición; lo procesado desde el último offset se reenviará.
+     */
+    boolean commit(int partition, String node, long generation, long offset) throws IOException {
+        boolean committed = update(partition, node, generation,
+                lease -> new Lease(node, generation, lease.expiresAtMillis(), offset));
+        if (committed) {
+            deleteSegmentsBefore(partition, offset);
+        }
+        return committed;
+    }
+
+    /**
+     * Borra los segmentos cuyo sucesor empieza en o antes del offset: nadie vuelve a leerlos. El último segmento
+     * se conserva siempre, porque es el que reciben los productores.
+     */
+    private void deleteSegmentsBefore(int partition, long offset) throws IOException {
+        NavigableMap<Long, Path> segments = segments(partition);
+        Long current = segments.floorKey(offset);
+        if (current == null) {
+            return;
+        }
+        for (Path segment : segments.headMap(current, false).values()) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                // Algunos sistemas no borran un archivo abierto por otro proceso; se reintenta en la próxima confirmación.
+                log.debug("No se pudo borrar el segmento {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Libera la partición para que otro nodo la tome de inmediato.
+     */
+    boolean release(int partition, String node, long generation) throws IOException {
+        return update(partition, node, generation,
+                lease -> new Lease("", generation, 0, lease.committedOffset()));
+    }
+
+    /** @return El lease actual de la partición. */
+    Lease lease(int partition) throws IOException {
+        return locked(leaseFile(partition), PartitionedQueue::readLease);
+    }
+
+    private boolean update(int partition, String node, long generation,
+                           java.util.function.UnaryOperator<Lease> change) throws IOException {
+        return locked(leaseFile(partition), channel -> {
+            Lease current = readLease(channel);
+            if (!current.isHeldBy(node, generation)) {
+                return false;
+            }
+            writeLease(channel, change.apply(current));
+            return true;
+        });
+    }
+
+    // --- Membresía ---
+
+    /**
+     * Publica que el nodo está vivo hasta el instante indicado.
+     */
+    void heartbeat(String node, long expiresAtMillis) throws IOException {
+        Path file = nodeFile(node);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(0, expiresAtMillis).array());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Quita al nodo de la membresía (salida ordenada).
+     */
+    void leave(String node) throws IOException {
+        Files.deleteIfExists(nodeFile(node));
+    }
+
+    /**
+     * @return Cantidad de nodos con heartbeat vigente.
+     */
+    int liveNodes() throws IOException {
+        long now = System.currentTimeMillis();
+        int live = 0;
+        try (DirectoryStream<Path> nodes = Files.newDirectoryStream(directory.resolve("nodes"), "*.node")) {
+            for (Path node : nodes) {
+                try {
+                    byte[] bytes = Files.readAllBytes(node);
+                    if (bytes.length == Long.BYTES && ByteBuffer.wrap(bytes).getLong() > now) {
+                        live++;
+                    }
+                } catch (IOException e) {
+                    // El nodo salió entre el listado y la lectura.
+                }
+            }
+        }
+        return live;
+    }
+
+    // --- Lectura (usada por QueueWorker) ---
+
+    /**
+     * Lee de un segmento hasta {@code max} registros completos a partir de {@code offset}, relativo al segmento.
+     * <p>
+     * La longitud de un registro dañado no es confiable (un productor pudo morir a mitad de la escritura y los
+     * siguientes agregaron sus registros a continuación), por lo que ante una longitud inválida o un CRC que no
+     * coincide el lector busca, byte a byte, el siguiente registro completo cuyo CRC coincida. Un registro
+     * incompleto al final del log se trata como una escritura en curso, salvo que lo siga un registro íntegro.
+     * </p>
+     *
+     * @param reader Canal de lectura del segmento.
+     * @param buffer Buffer de lectura; se reemplaza por uno mayor si un registro no entra.
+     * @return Los registros leídos, sus offsets y el offset siguiente al último.
+     */
+    static Batch read(FileChannel reader, ByteBuffer buffer, long offset, int max) throws IOException {
+        List<QueuedNotification> notifications = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        long position = offset;
+        boolean more = true;
+        while (more && notifications.size() < max) {
+            buffer.clear();
+            if (reader.read(buffer, position) < NotificationCodec.HEADER_BYTES) {
+                break;
+            }
+            buffer.flip();
+            long size = reader.size();
+            int firstLength = buffer.getInt(0);
+            if (isValidLength(firstLength)
+                    && Math.min(NotificationCodec.HEADER_BYTES + firstLength, size - position) > buffer.capacity()) {
+                // Registro más grande que el buffer: se amplía y se vuelve a leer desde su inicio.
+                buffer = ByteBuffer.allocate(NotificationCodec.HEADER_BYTES + firstLength);
+                continue;
+            }
+            boolean atEnd = position + buffer.limit() >= size;
+            while (notifications.size() < max && buffer.remaining() >= NotificationCodec.HEADER_BYTES) {
+                int length = buffer.getInt(buffer.position());
+                boolean complete = isValidLength(length) && buffer.remaining() >= NotificationCodec.HEADER_BYTES + length;
+                if (isValidLength(length) && !complete && !atEnd) {
+                    // Registro cortado por el buffer: se relee desde su inicio.
+                    break;
+                }
+                long frameOffset = position + buffer.position();
+                if (complete && NotificationCodec.checksumMatches(buffer, length)) {
+                    decodeInto(notifications, offsets, buffer.slice(buffer.position() + NotificationCodec.HEADER_BYTES, length), frameOffset);
+                    buffer.position(buffer.position() + NotificationCodec.HEADER_BYTES + length);
+                    continue;
+                }
+                int next = resync(buffer, buffer.position() + 1);
+                if (next < 0 && isValidLength(length) && !complete) {
+                    // Nada íntegro lo sigue: puede ser un registro que un productor todavía está escribiendo.
+                    break;
+                }
+                int skipTo = (next >= 0) ? next : -next - 1;
+                log.error("Registro dañado en el offset {} (longitud {}), se descartan {} bytes", frameOffset, length,
+                        skipTo - buffer.position());
+                buffer.position(skipTo);
+                if (next < 0) {
+                    break;
+                }
+            }
+            position += buffer.position();
+            // Si el buffer se llenó, puede haber más registros después de lo consumido.
+            more = buffer.limit() == buffer.capacity() && buffer.position() > 0;
+        }
+        return new Batch(notifications, offsets, position, buffer);
+    }
+
+    /**
+     * Busca el siguiente registro íntegro a partir de {@code from}.
+     *
+     * @return Su posición en el buffer o, si no hay ninguno, {@code -(punto de retome) - 1}: el primer registro
+     * incompleto que podría completarse más adelante, o el final de lo leído.
+     */
+    private static int resync(ByteBuffer buffer, int from) {
+        ByteBuffer candidate = buffer.duplicate();
+        int incomplete = -1;
+        for (int p = from; p <= buffer.limit() - NotificationCodec.HEADER_BYTES; p++) {
+            int length = buffer.getInt(p);
+            if (!isValidLength(length)) {
+                continue;
+            }
+            if (p + NotificationCodec.HEADER_BYTES + length > buffer.limit()) {
+                incomplete = (incomplete < 0) ? p : incomplete;
+            } else if (NotificationCodec.checksumMatches(candidate.position(p), length)) {
+                return p;
+            }
+        }
+        int resume = (incomplete >= 0) ? incomplete : Math.max(from, buffer.limit() - NotificationCodec.HEADER_BYTES + 1);
+        return -resume - 1;
+    }
+
+    /** Un registro vacío nunca es válido: así una zona de ceros no se confunde con registros (su CRC es 0). */
+    private static boolean isValidLength(int length) {
+        return length > 0 && length <= NotificationCodec.MAX_RECORD_BYTES;
+    }
+
+    /**
+     * Decodifica un registro íntegro. Uno que no puede decodificarse (otra versión del formato, un canal o prioridad
+     * desconocidos) se descarta: reintentarlo fallaría siempre y detendría la partición.
+     */
+    private static void decodeInto(List<QueuedNotification> notifications, List<Long> offsets, ByteBuffer content,
+                                   long offset) {
+        try {
+            notifications.add(NotificationCodec.decode(content));
+            offsets.add(offset);
+        } catch (RuntimeException e) {
+            log.error("Registro ilegible en el offset {}, se descarta: {}", offset, e.toString());
+        }
+    }
+
+    /**
+     * Resultado de una lectura del log.
+     *
+     * @param notifications Registros leídos.
+     * @param offsets       Offset de inicio de cada registro, en el mismo orden; permite confirmar solo una parte del lote.
+     * @param nextOffset    Offset siguiente al último registro leído.
+     * @param buffer        Buffer a reutilizar en la próxima lectura.
+     */
+    record Batch(List<QueuedNotification> notifications, List<Long> offsets, long nextOffset, ByteBuffer buffer) {
+    }
+
+    PartitionReader openReader(int partition) {
+        return new PartitionReader(this, partition);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Appender appender : appenders.values()) {
+            if (appender.segment != null) {
+                appender.segment.close();
+            }
+            appender.lock.close();
+        }
+        appenders.clear();
+    }
+
+    /**
+     * @return Los segmentos de la partición, por offset inicial.
+     */
+    NavigableMap<Long, Path> segments(int partition) throws IOException {
+        NavigableMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(partitionDir(partition), "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+        return segments;
+    }
+
+    /** @return El archivo del segmento que empieza en {@code base}. */
+    Path segmentFile(int partition, long base) {
+        return partitionDir(partition).resolve("%020d%s".formatted(base, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Con el lock de escritura tomado, pasa el productor al último segmento de la partición, o a uno nuevo si el
+     * último está lleno. Un segmento que ya tiene sucesor no vuelve a recibir escrituras.
+     */
+    private void roll(int partition, Appender appender) throws IOException {
+        Map.Entry<Long, Path> last = segments(partition).lastEntry();
+        long base = (last == null) ? 0 : last.getKey();
+        long size = (last == null) ? 0 : Files.size(last.getValue());
+        if (size >= segmentBytes) {
+            base += size;
+        }
+        if (appender.segment != null) {
+            appender.segment.close();
+        }
+        appender.segment = FileChannel.open(segmentFile(partition, base),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        appender.base = base;
+    }
+
+    private Appender openAppender(int partition) {
+        try {
+            return new Appender(FileChannel.open(partitionDir(partition).resolve("append.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Canales de escritura de una partición; el segmento actual se elige con el lock de escritura tomado.
+     */
+    private static final class Appender {
+        private final FileChannel lock;
+        private FileChannel segment;
+        private long base;
+
+        Appender(FileChannel lock) {
+            this.lock = lock;
+        }
+    }
+
+    private Path partitionDir(int partition) {
+        return directory.resolve("p-%03d".formatted(partition));
+    }
+
+    private Path leaseFile(int partition) {
+        return partitionDir(partition).resolve("lease");
+    }
+
+    private Path nodeFile(String node) {
+        return directory.resolve("nodes").resolve(node + ".node");
+    }
+
+    private static Lease readLease(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(channel.size(), 0));
+        channel.read(buffer, 0);
+        return Lease.fromBytes(buffer.flip());
+    }
+
+    private static void writeLease(FileChannel channel, Lease lease) throws IOException {
+        // Se sobrescribe en el lugar y luego se recorta: una escritura de pocos bytes no queda a medias si el
+        // proceso muere, mientras que recortar primero podría dejar el archivo vacío.
+        ByteBuffer bytes = lease.toBytes();
+        long position = 0;
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+        channel.truncate(position);
+    }
+
+    private static ReentrantLock localLock(Path file) {
+        return LOCAL_LOCKS.computeIfAbsent(file, k -> new ReentrantLock());
+    }
+
+    /**
+     * Ejecuta la acción con el archivo bloqueado tanto dentro de la JVM como entre procesos.
+     */
+    private <T> T locked(Path file, LockedAction<T> action) throws IOException {
+        ReentrantLock local = localLock(file);
+        local.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            return action.apply(channel);
+        } finally {
+            local.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface LockedAction<T> {
+        T apply(FileChannel channel) throws IOException;
+    }
+}
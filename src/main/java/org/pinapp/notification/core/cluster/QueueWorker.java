@@ -0,0 +1,278 @@
+package org.pinapp.notification.core.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.QueueConfig;
+import org.pinapp.notification.core.NotificationService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nodo consumidor de una {@link PartitionedQueue}: toma particiones mediante leases y despacha sus
+ * notificaciones a través de un {@link NotificationService}.
+ * <p>
+ * Cada {@code heartbeatInterval} el nodo publica que está vivo, renueva sus leases y calcula su cuota de
+ * particiones ({@code particiones / nodos vivos}, redondeado hacia arriba): toma particiones libres o vencidas
+ * mientras tenga menos que su cuota y libera las que excedan, de modo que al sumar nodos la carga se reparte y
+ * el rendimiento escala con la cantidad de nodos. Si un nodo muere, sus leases vencen y los demás toman sus
+ * particiones desde el último offset confirmado.
+ * </p>
+ * <p>
+ * Cada partición se consume en un hilo virtual propio, en lotes: el offset se confirma recién cuando todas las
+ * notificaciones del lote obtuvieron su resultado (cualquiera sea el estado, ya que los reintentos los resuelve
+ * el servicio). La entrega es, por lo tanto, <b>al menos una vez</b>: lo despachado después del último offset
+ * confirmado por un nodo caído se despacha de nuevo.
+ * </p>
+ * <p>
+ * Una notificación que el servicio no llegó a intentar (la cola de su tenant está llena o el servicio está
+ * cerrado) no se confirma: el offset avanza solo hasta el
+ * registro anterior y el consumidor espera un {@code pollInterval} antes de releer desde ella.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Slf4j
+public class QueueWorker implements AutoCloseable {
+
+    private final String nodeId;
+    private final PartitionedQueue queue;
+    private final NotificationService service;
+    private final QueueConfig config;
+
+    /** Particiones tomadas por este nodo y su consumidor. */
+    private final Map<Integer, PartitionConsumer> owned = new ConcurrentHashMap<>();
+    private final LongAdder dispatched = new LongAdder();
+    private final ReentrantLock lifecycle = new ReentrantLock();
+    private volatile boolean running;
+    private Thread heartbeat;
+
+    /**
+     * @param nodeId  Identificador único del nodo dentro de la cola.
+     * @param queue   Cola compartida.
+     * @param service Servicio por el que se despachan las notificaciones.
+     * @param config  Tamaño de lote, TTL de los leases y frecuencias.
+     */
+    public QueueWorker(String nodeId, PartitionedQueue queue, NotificationService service, QueueConfig config) {
+        this.nodeId = nodeId;
+        this.queue = queue;
+        this.service = service;
+        this.config = config;
+    }
+
+    /**
+     * Comienza a tomar particiones y a despachar sus notificaciones.
+     */
+    public void start() {
+        lifecycle.lock();
+        try {
+            if (!running) {
+                running = true;
+                heartbeat = Thread.ofVirtual().name("queue-heartbeat-" + nodeId).start(this::heartbeatLoop);
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    /** @return Las particiones que este nodo consume actualmente. */
+    public Set<Integer> ownedPartitions() {
+        return Set.copyOf(owned.keySet());
+    }
+
+    /** @return Notificaciones despachadas por este nodo. */
+    public long dispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Detiene el nodo de forma ordenada: termina el lote en curso de cada partición, confirma su offset y libera
+     * los leases para que otro nodo los tome sin esperar su vencimiento.
+     */
+    @Override
+    public void close() {
+        lifecycle.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            heartbeat.interrupt();
+            join(heartbeat);
+            owned.values().forEach(consumer -> consumer.stop(true));
+            owned.values().forEach(consumer -> join(consumer.thread));
+            owned.clear();
+            queue.leave(nodeId);
+        } catch (IOException e) {
+            log.warn("No se pudo quitar el nodo {} de la membresía: {}", nodeId, e.getMessage());
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    private void heartbeatLoop() {
+        long ttl = config.leaseTtl().toMillis();
+        // Cada nodo recorre las particiones desde un punto distinto para no competir por las mismas al arrancar.
+        int start = Math.floorMod(nodeId.hashCode(), queue.partitions());
+        while (running) {
+            try {
+                queue.heartbeat(nodeId, System.currentTimeMillis() + ttl);
+                int fairShare = Math.ceilDiv(queue.partitions(), Math.max(1, queue.liveNodes()));
+
+                owned.values().removeIf(consumer -> !consumer.thread.isAlive());
+                for (PartitionConsumer consumer : owned.values()) {
+                    if (!consumer.stopping && !queue.renew(consumer.partition, nodeId, consumer.generation, ttl)) {
+                        log.warn("El nodo {} perdió la partición {}", nodeId, consumer.partition);
+                        consumer.stop(false);
+                    }
+                }
+                List<PartitionConsumer> active = new ArrayList<>(owned.values());
+                active.removeIf(consumer -> consumer.stopping);
+                for (int i = fairShare; i < active.size(); i++) {
+                    log.info("El nodo {} cede la partición {} (cuota {})", nodeId, active.get(i).partition, fairShare);
+                    active.get(i).stop(true);
+                }
+                for (int i = 0; i < queue.partitions() && active.size() < fairShare; i++) {
+                    int partition = (start + i) % queue.partitions();
+                    if (owned.containsKey(partition)) {
+                        continue;
+                    }
+                    Lease lease = queue.tryAcquire(partition, nodeId, ttl);
+                    if (lease != null) {
+                        log.info("El nodo {} toma la partición {} desde el offset {}", nodeId, partition, lease.committedOffset());
+                        PartitionConsumer consumer = new PartitionConsumer(partition, lease);
+                        owned.put(partition, consumer);
+                        active.add(consumer);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Error de E/S en el heartbeat del nodo {}: {}", nodeId, e.getMessage());
+            }
+            if (!sleep(config.heartbeatInterval().toMillis())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consumidor de una partición en su propio hilo virtual.
+     */
+    private final class PartitionConsumer {
+        private final int partition;
+        private final long generation;
+        private final Thread thread;
+        private volatile boolean stopping;
+        private volatile boolean releaseOnStop;
+        private long offset;
+
+        PartitionConsumer(int partition, Lease lease) {
+            this.partition = partition;
+            this.generation = lease.generation();
+            this.offset = lease.committedOffset();
+            this.thread = Thread.ofVirtual().name("queue-" + nodeId + "-p" + partition).start(this::run);
+        }
+
+        void stop(boolean release) {
+            releaseOnStop = release;
+            stopping = true;
+        }
+
+        private void run() {
+            try (PartitionReader reader = queue.openReader(partition)) {
+                while (!stopping) {
+                    PartitionedQueue.Batch batch = reader.read(offset, config.batchSize());
+                    if (batch.notifications().isEmpty() && batch.nextOffset() == offset) {
+                        if (!sleep(config.pollInterval().toMillis())) {
+                            break;
+                        }
+                        continue;
+                    }
+                    List<CompletableFuture<NotificationResult>> results = new ArrayList<>(batch.notifications().size());
+                    for (QueuedNotification notification : batch.notifications()) {
+                        CompletableFuture<NotificationResult> result = send(notification);
+                        results.add(result);
+                        if (result.isDone() && isBackpressure(result.join())) {
+                            // El resto del lote se rechazaría igual; se reenvía desde aquí en la próxima vuelta.
+                            break;
+                        }
+                    }
+                    CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+                    int accepted = 0;
+                    while (accepted < results.size() && !isBackpressure(results.get(accepted).join())) {
+                        accepted++;
+                    }
+                    boolean complete = accepted == batch.notifications().size();
+                    long next = complete ? batch.nextOffset() : batch.offsets().get(accepted);
+                    dispatched.add(accepted);
+                    if (next != offset && !queue.commit(partition, nodeId, generation, next)) {
+                        log.warn("El nodo {} no pudo confirmar el offset de la partición {}: fue tomada por otro nodo", nodeId, partition);
+                        return;
+                    }
+                    offset = next;
+                    if (!complete) {
+                        log.debug("El servicio no aceptó la partición {} desde el offset {}, se reintenta", partition, next);
+                        if (!sleep(config.pollInterval().toMillis())) {
+                            break;
+                        }
+                    }
+                }
+                if (releaseOnStop) {
+                    queue.release(partition, nodeId, generation);
+                }
+            } catch (IOException e) {
+                log.error("Error de E/S consumiendo la partición {} en el nodo {}: {}", partition, nodeId, e.getMessage());
+            } catch (RuntimeException e) {
+                // El heartbeat descarta al consumidor y vuelve a tomar la partición desde el último offset confirmado.
+                log.error("Error inesperado consumiendo la partición {} en el nodo {}", partition, nodeId, e);
+            }
+        }
+    }
+
+    private CompletableFuture<NotificationResult> send(QueuedNotification notification) {
+        try {
+            return service.sendAsync(notification.channel(), notification.data());
+        } catch (RejectedExecutionException e) {
+            // El ejecutor se cerró entre el control del servicio y el envío.
+            return CompletableFuture.completedFuture(new NotificationResult(notification.channel(), null,
+                    NotificationStatus.FAILED, 0, Duration.ZERO, e));
+        }
+    }
+
+    /**
+     * Indica si la notificación no fue intentada por falta de capacidad del nodo y no por sí misma: la cola de su
+     * tenant estaba llena o el servicio estaba cerrado. Esas notificaciones se reintentan en lugar de confirmarse.
+     */
+    private static boolean isBackpressure(NotificationResult result) {
+        return result.error() instanceof RejectedExecutionException;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.pinapp.notification.core.cluster;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.record.NotificationData;
+
+/**
+ * Notificación almacenada en la cola particionada.
+ *
+ * @param id      Identificador asignado por el productor. La entrega es "al menos una vez": tras la caída de un
+ *                nodo una notificación puede despacharse de nuevo, y el id permite deduplicarla aguas abajo.
+ * @param channel Canal por el que debe enviarse.
+ * @param data    Datos de la notificación (con el cuerpo en línea).
+ */
+public record QueuedNotification(
+        String id,
+        ChannelType channel,
+        NotificationData data
+) {
+}
@@ -0,0 +1,40 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Una espera entre reintentos. Su duración es la espera real (menor a la solicitada si fue interrumpida).
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Name(BackoffEvent.NAME)
+@Label("Retry Backoff")
+@Category({"PinApp", "Notification"})
+@Description("Espera antes de reintentar un envío fallido")
+@StackTrace(false)
+public final class BackoffEvent extends Event {
+
+    public static final String NAME = "org.pinapp.notification.Backoff";
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Attempt")
+    @Description("Intento fallido que originó la espera")
+    public int attempt;
+
+    @Label("Requested Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    public long requestedDelay;
+
+    @Label("Rate Limited")
+    @Description("true si la espera proviene de un Retry-After del proveedor")
+    public boolean rateLimited;
+}
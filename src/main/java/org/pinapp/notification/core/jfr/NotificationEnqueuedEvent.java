@@ -0,0 +1,37 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una notificación admitida (o rechazada) por {@code sendAsync}.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Name(NotificationEnqueuedEvent.NAME)
+@Label("Notification Enqueued")
+@Category({"PinApp", "Notification"})
+@Description("Notificación recibida por el servicio, antes de esperar en cola")
+@StackTrace(false)
+public final class NotificationEnqueuedEvent extends Event {
+
+    public static final String NAME = "org.pinapp.notification.Enqueued";
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Tenant")
+    public String tenant;
+
+    @Label("Accepted")
+    @Description("false si la cola del tenant estaba llena")
+    public boolean accepted;
+}
@@ -0,0 +1,44 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Una notificación que agotó sus reintentos sin poder enviarse.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Name(NotificationExhaustedEvent.NAME)
+@Label("Notification Exhausted")
+@Category({"PinApp", "Notification"})
+@Description("Notificación descartada tras agotar los reintentos")
+@StackTrace(false)
+public final class NotificationExhaustedEvent extends Event {
+
+    public static final String NAME = "org.pinapp.notification.Exhausted";
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    public long elapsed;
+
+    @Label("Last Error")
+    public String lastError;
+}
@@ -0,0 +1,44 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una llamada a {@code NotificationProvider.send}. Su duración es la del proveedor, sin incluir la
+ * espera por el límite de concurrencia.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Name(ProviderAttemptEvent.NAME)
+@Label("Provider Attempt")
+@Category({"PinApp", "Notification"})
+@Description("Intento de envío a través de un proveedor")
+@StackTrace(false)
+public final class ProviderAttemptEvent extends Event {
+
+    public static final String NAME = "org.pinapp.notification.ProviderAttempt";
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Outcome")
+    @Description("SENT, FAILED, RATE_LIMITED o CANCELLED")
+    public String outcome;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,41 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Tiempo que una notificación esperó entre su recepción y el inicio del despacho.
+ * <p>
+ * Es un evento instantáneo con la espera como campo, ya que comienza y termina en hilos distintos.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Name(QueueWaitEvent.NAME)
+@Label("Notification Queue Wait")
+@Category({"PinApp", "Notification"})
+@Description("Espera en cola (tenant o ejecutor) hasta que un hilo virtual toma la notificación")
+@StackTrace(false)
+public final class QueueWaitEvent extends Event {
+
+    public static final String NAME = "org.pinapp.notification.QueueWait";
+
+    @Label("Channel")
+    public String channel;
+
+    @Label("Priority")
+    public String priority;
+
+    @Label("Tenant")
+    public String tenant;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+}
@@ -0,0 +1,13 @@
+/**
+ * Eventos de JDK Flight Recorder emitidos por {@link org.pinapp.notification.core.NotificationService}.
+ * <p>
+ * Permiten correlacionar la latencia de las notificaciones (espera en cola, llamadas a proveedores,
+ * backoff) con GC, fijación de hilos virtuales y demás eventos de la JVM, sin una pila de métricas
+ * adicional. Se habilitan por nombre ({@code org.pinapp.notification.*}) en un archivo {@code .jfc} o con
+ * {@code jcmd <pid> JFR.start}; deshabilitados, el JIT elimina su creación y su costo es despreciable.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+package org.pinapp.notification.core.jfr;
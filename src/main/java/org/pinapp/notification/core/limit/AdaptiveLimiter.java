@@ -0,0 +1,170 @@
+package org.pinapp.notification.core.limit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limita los envíos simultáneos a un proveedor según un {@link ConcurrencyLimit} adaptativo.
+ * <p>
+ * Los envíos que exceden el límite esperan en {@link #acquire()} (un hilo virtual estacionado es
+ * barato) en lugar de sumarse a la carga del proveedor. Cada {@link #release(Permit, boolean)} informa
+ * la latencia y el resultado al algoritmo, que ajusta el límite para el siguiente envío.
+ * </p>
+ * <p>
+ * Un planificador que no debe ocupar sus propios lugares con envíos estacionados reserva con
+ * {@link #tryAcquire()} antes de despachar y se registra con {@link #onRelease(Runnable)} para volver a
+ * intentarlo cuando el proveedor libera capacidad.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class AdaptiveLimiter {
+
+    private final ConcurrencyLimit limit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int inFlight;
+
+    /** Se invoca fuera del lock cuando se libera un lugar con el limitador saturado. */
+    private volatile Runnable releaseListener;
+
+    /**
+     * @param limit Algoritmo que define el máximo de envíos simultáneos.
+     */
+    public AdaptiveLimiter(ConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Espera hasta que haya capacidad y reserva un lugar.
+     *
+     * @return El lugar reservado, que debe pasarse a {@link #release(Permit, boolean)}.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public Permit acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= limit.limit()) {
+                released.await();
+            }
+            inFlight++;
+            return new Permit(System.nanoTime(), inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva un lugar solo si hay capacidad, sin esperar.
+     *
+     * @return El lugar reservado, o {@code null} si el límite vigente está cubierto.
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= limit.limit()) {
+                return null;
+            }
+            inFlight++;
+            return new Permit(System.nanoTime(), inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera el lugar reservado e informa el resultado al algoritmo.
+     *
+     * @param permit  Lugar devuelto por {@link #acquire()}.
+     * @param dropped {@code true} si el envío falló.
+     */
+    public void release(Permit permit, boolean dropped) {
+        long rtt = System.nanoTime() - permit.startNanos();
+        boolean saturated;
+        lock.lock();
+        try {
+            saturated = inFlight >= limit.limit();
+            inFlight--;
+            limit.onSample(rtt, permit.inFlight(), dropped);
+            signalFree();
+        } finally {
+            lock.unlock();
+        }
+        notifyReleased(saturated);
+    }
+
+    /**
+     * Libera un lugar reservado que no llegó a usarse, sin informar una muestra al algoritmo.
+     *
+     * @param permit Lugar devuelto por {@link #acquire()} o {@link #tryAcquire()}.
+     */
+    public void cancel(Permit permit) {
+        boolean saturated;
+        lock.lock();
+        try {
+            saturated = inFlight >= limit.limit();
+            inFlight--;
+            signalFree();
+        } finally {
+            lock.unlock();
+        }
+        notifyReleased(saturated);
+    }
+
+    /**
+     * Registra la acción a ejecutar cuando se libera un lugar estando el limitador saturado, es decir,
+     * cuando un {@link #tryAcquire()} fallido podría tener éxito ahora. Reemplaza la anterior.
+     *
+     * @param listener Acción a ejecutar, en el hilo que libera y fuera del lock del limitador.
+     */
+    public void onRelease(Runnable listener) {
+        this.releaseListener = listener;
+    }
+
+    /**
+     * Despierta solo tantos hilos como lugares libres haya (el límite puede haber crecido), para no
+     * reactivar a todos los que esperan en cada envío. Debe invocarse con el lock tomado.
+     */
+    private void signalFree() {
+        for (int free = limit.limit() - inFlight; free > 0; free--) {
+            released.signal();
+        }
+    }
+
+    private void notifyReleased(boolean saturated) {
+        Runnable listener = releaseListener;
+        if (saturated && listener != null) {
+            listener.run();
+        }
+    }
+
+    /** @return El límite actual. */
+    public int limit() {
+        lock.lock();
+        try {
+            return limit.limit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return Envíos en curso. */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lugar reservado por {@link #acquire()} o {@link #tryAcquire()}.
+     *
+     * @param startNanos Instante de inicio del envío.
+     * @param inFlight   Envíos en curso al reservarlo (incluido este).
+     */
+    public record Permit(long startNanos, int inFlight) {
+    }
+}
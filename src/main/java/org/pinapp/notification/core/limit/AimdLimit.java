@@ -0,0 +1,70 @@
+package org.pinapp.notification.core.limit;
+
+import java.time.Duration;
+
+/**
+ * Límite <b>AIMD</b> (incremento aditivo, decremento multiplicativo), como el control de congestión de TCP.
+ * <p>
+ * Cada envío exitoso suma {@code 1/límite} (aproximadamente +1 por cada "ventana" de envíos); cada
+ * envío fallido, o más lento que {@code latencyThreshold}, multiplica el límite por {@code backoffRatio}
+ * (una vez por ventana: las muestras de envíos admitidos con un límite mayor no vuelven a reducirlo).
+ * Es robusto y simple, pero necesita un umbral de latencia conocido para detectar la saturación antes
+ * de que el proveedor empiece a fallar.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class AimdLimit implements ConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private double limit;
+
+    /**
+     * @param initialLimit     Límite inicial.
+     * @param minLimit         Límite mínimo.
+     * @param maxLimit         Límite máximo.
+     * @param backoffRatio     Factor aplicado ante una falla (entre 0.5 y 1, típicamente 0.9).
+     * @param latencyThreshold Latencia a partir de la cual un envío se considera síntoma de saturación.
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyThreshold) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio < 0.5 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Parámetros AIMD inválidos");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @param latencyThreshold Latencia a partir de la cual un envío se considera síntoma de saturación.
+     * @return Un límite AIMD con valores estándar (inicial 10, rango 1..1000, backoff 0.9).
+     */
+    public static AimdLimit withLatencyThreshold(Duration latencyThreshold) {
+        return new AimdLimit(10, 1, 1000, 0.9, latencyThreshold);
+    }
+
+    @Override
+    public int limit() {
+        return (int) limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            // Una sola reducción por ventana: los envíos admitidos con el límite anterior ya no
+            // reflejan la concurrencia actual y colapsarían el límite si cada uno lo redujera.
+            if (inFlight <= limit) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }
+        } else if (inFlight * 2 >= limit) {
+            // Solo crece si el límite se está usando; con poco tráfico no hay evidencia de capacidad extra.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+}
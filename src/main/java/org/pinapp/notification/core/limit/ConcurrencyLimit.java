@@ -0,0 +1,27 @@
+package org.pinapp.notification.core.limit;
+
+/**
+ * Algoritmo que estima el máximo de envíos simultáneos que tolera un proveedor.
+ * <p>
+ * El {@link AdaptiveLimiter} informa cada envío terminado mediante {@link #onSample(long, int, boolean)}
+ * y consulta {@link #limit()} antes de admitir uno nuevo. Ambas llamadas se realizan con el lock del
+ * limitador tomado, por lo que las implementaciones no necesitan ser thread-safe.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public interface ConcurrencyLimit {
+
+    /** @return Máximo actual de envíos simultáneos. */
+    int limit();
+
+    /**
+     * Ajusta el límite a partir de un envío terminado.
+     *
+     * @param rttNanos Duración de la llamada al proveedor.
+     * @param inFlight Envíos en curso cuando comenzó la llamada (incluida ella).
+     * @param dropped  {@code true} si la llamada falló (error, timeout o límite de tasa).
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
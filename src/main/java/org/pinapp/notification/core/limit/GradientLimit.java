@@ -0,0 +1,84 @@
+package org.pinapp.notification.core.limit;
+
+/**
+ * Límite por <b>gradiente</b> de latencia, al estilo de TCP Vegas.
+ * <p>
+ * Compara la latencia mínima observada (proveedor sin cola) con la de cada envío:
+ * {@code gradiente = clamp(tolerancia * rttMin / rtt, 0.5, 1)}. El nuevo límite es
+ * {@code límite * gradiente + sqrt(límite)}, suavizado exponencialmente por ventana de envíos: mientras la latencia no
+ * crece el límite sube, y en cuanto el proveedor empieza a encolar (su latencia se aleja del mínimo)
+ * el gradiente lo frena alrededor del punto de saturación. No requiere conocer un umbral de latencia.
+ * </p>
+ * <p>
+ * La latencia mínima deriva lentamente hacia arriba para adaptarse a cambios del proveedor a lo largo del día.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class GradientLimit implements ConcurrencyLimit {
+
+    /** Deriva aplicada al mínimo en cada muestra (~x2,7 cada 100.000 muestras sin nuevos mínimos). */
+    private static final double MIN_RTT_DRIFT = 1.00001;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private double limit;
+    private double minRttNanos = Double.MAX_VALUE;
+
+    /**
+     * @param initialLimit Límite inicial.
+     * @param minLimit     Límite mínimo.
+     * @param maxLimit     Límite máximo.
+     * @param tolerance    Cuánto puede crecer la latencia respecto del mínimo sin reducir el límite (≥ 1).
+     * @param smoothing    Peso de cada ventana (≈ límite muestras) en el suavizado (0..1].
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Parámetros de gradiente inválidos");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return Un límite por gradiente con valores estándar (inicial 10, rango 1..1000, tolerancia 1.2, suavizado 0.2).
+     */
+    public static GradientLimit defaultLimit() {
+        return new GradientLimit(10, 1, 1000, 1.2, 0.2);
+    }
+
+    @Override
+    public int limit() {
+        return (int) limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            // Como en AIMD, una sola reducción por ventana: los envíos admitidos con el límite anterior
+            // fallan juntos y llevarían el límite al mínimo si cada uno lo redujera.
+            if (inFlight <= limit) {
+                limit = Math.max(minLimit, limit * 0.5);
+            }
+            return;
+        }
+        minRttNanos = Math.min(minRttNanos * MIN_RTT_DRIFT, rttNanos);
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlight * 2 < limit) {
+            // Con poco tráfico no hay evidencia de capacidad extra.
+            return;
+        }
+        // El suavizado se reparte entre los ~límite envíos de una ventana: aplicarlo completo en cada
+        // muestra acumularía todo un lote de respuestas atrasadas y haría oscilar el límite.
+        double weight = smoothing / limit;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - weight) + newLimit * weight));
+    }
+}
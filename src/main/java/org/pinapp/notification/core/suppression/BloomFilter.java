@@ -0,0 +1,67 @@
+package org.pinapp.notification.core.suppression;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Filtro de Bloom fuera del heap sobre claves de 64 bits ya mezcladas.
+ * <p>
+ * Los bits se guardan en un {@link ByteBuffer#allocateDirect(int) buffer directo}; las {@code k}
+ * posiciones se derivan de las dos mitades de la clave (Kirsch-Mitzenmacher), por lo que no se
+ * vuelve a recorrer el destinatario. Las escrituras de bits no son atómicas entre sí: los
+ * {@link #add(long)} concurrentes deben serializarse externamente, las lecturas no.
+ * </p>
+ */
+final class BloomFilter {
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitCount, int hashFunctions) {
+        long words = (bitCount + 63) / 64;
+        if (words * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filtro de Bloom demasiado grande: " + bitCount + " bits");
+        }
+        this.bits = ByteBuffer.allocateDirect((int) (words * Long.BYTES)).asLongBuffer();
+        this.bitCount = words * 64;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Dimensiona un filtro para la cantidad esperada de claves y la tasa de falsos positivos deseada.
+     */
+    static BloomFilter create(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    void add(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            bits.put(word, bits.get(word) | (1L << bit));
+        }
+    }
+
+    boolean mightContain(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return Memoria fuera del heap ocupada por el filtro. */
+    long sizeInBytes() {
+        return bitCount / 8;
+    }
+}
@@ -0,0 +1,538 @@
+package org.pinapp.notification.core.suppression;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pinapp.notification.api.SuppressionList;
+import org.pinapp.notification.core.validation.NotificationValidator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lista de supresión respaldada por un índice ordenado de hashes en un archivo mapeado en memoria.
+ * <p>
+ * Cada destinatario se normaliza (teléfonos a E.164 con las mismas reglas que la validación del
+ * servicio, recorte y minúsculas) y se reduce a un hash de 64 bits; el
+ * archivo guarda esos hashes ordenados, por lo que cada entrada ocupa 8 bytes fuera del heap y la
+ * consulta es una búsqueda por interpolación sobre el mapeo. Opcionalmente se antepone un {@link BloomFilter}
+ * (~10 bits por entrada, también fuera del heap) que responde sin tocar el índice para la gran
+ * mayoría de destinatarios no suprimidos. Con hashes de 64 bits la probabilidad de colisión para
+ * decenas de millones de entradas es despreciable (del orden de 10<sup>-12</sup> por consulta).
+ * </p>
+ * <p>
+ * Las altas y bajas incrementales se registran en un delta en memoria y se consolidan con
+ * {@link #compact()}, que reescribe el archivo y reemplaza el mapeo de forma atómica para los
+ * lectores. Ni la reconstrucción ni la compactación cargan el índice completo en el heap: la primera
+ * ordena por tramos y los fusiona desde disco, y la segunda fusiona el mapeo vigente con el delta
+ * ordenado directamente sobre el archivo nuevo. El formato admite hasta ~268 millones de entradas
+ * (límite de 2 GB de un mapeo).
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Slf4j
+public class MappedSuppressionIndex implements SuppressionList {
+
+    private static final int MAGIC = 0x4E535550; // "NSUP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    /** Hashes que se ordenan en memoria por tramo al reconstruir el índice (8 MB de heap). */
+    private static final int SORT_CHUNK_ENTRIES = 1 << 20;
+
+    private final Path indexFile;
+    private final boolean bloomEnabled;
+
+    /** Índice consolidado vigente; se reemplaza completo al compactar. */
+    private volatile Segment segment;
+
+    /** Altas pendientes de consolidar. */
+    private final Set<Long> added = ConcurrentHashMap.newKeySet();
+
+    /** Bajas pendientes de consolidar. */
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+
+    /** Serializa las escrituras (altas en el filtro de Bloom y compactaciones). */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private MappedSuppressionIndex(Path indexFile, boolean bloomEnabled) {
+        this.indexFile = indexFile;
+        this.bloomEnabled = bloomEnabled;
+        this.segment = Segment.map(indexFile, bloomEnabled);
+    }
+
+    /**
+     * Abre un índice existente.
+     *
+     * @param indexFile Archivo generado por {@link #build(Path, Path, boolean)} o {@link #compact()}.
+     * @param bloom     {@code true} para anteponer un filtro de Bloom a las consultas.
+     * @return El índice listo para consultar.
+     */
+    public static MappedSuppressionIndex open(Path indexFile, boolean bloom) {
+        return new MappedSuppressionIndex(indexFile, bloom);
+    }
+
+    /**
+     * Reconstruye el índice a partir de un archivo de texto con un destinatario por línea
+     * (las líneas vacías o que comienzan con {@code #} se ignoran) y lo abre.
+     * <p>
+     * Los hashes se ordenan en tramos de tamaño fijo; si la fuente no entra en uno solo, cada tramo
+     * se vuelca ordenado a un archivo temporal junto al índice y se fusionan todos al escribirlo.
+     * </p>
+     *
+     * @param source    Archivo de texto con los destinatarios suprimidos.
+     * @param indexFile Archivo de índice a generar (se reemplaza si existe).
+     * @param bloom     {@code true} para anteponer un filtro de Bloom a las consultas.
+     * @return El índice listo para consultar.
+     */
+    public static MappedSuppressionIndex build(Path source, Path indexFile, boolean bloom) {
+        return build(source, indexFile, bloom, SORT_CHUNK_ENTRIES);
+    }
+
+    static MappedSuppressionIndex build(Path source, Path indexFile, boolean bloom, int chunkEntries) {
+        long start = System.nanoTime();
+        List<Path> runs = new ArrayList<>();
+        long[] chunk = new long[chunkEntries];
+        int count = 0;
+        long written;
+        try {
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) {
+                        continue;
+                    }
+                    if (count == chunk.length) {
+                        runs.add(spill(indexFile, chunk, count));
+                        count = 0;
+                    }
+                    chunk[count++] = key(line);
+                }
+            }
+            try (IndexWriter out = new IndexWriter(indexFile)) {
+                if (runs.isEmpty()) {
+                    Arrays.parallelSort(chunk, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        out.append(chunk[i]);
+                    }
+                } else {
+                    runs.add(spill(indexFile, chunk, count));
+                    merge(runs, out);
+                }
+                written = out.publish();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo reconstruir el índice de supresión desde " + source, e);
+        } finally {
+            runs.forEach(MappedSuppressionIndex::deleteQuietly);
+        }
+        log.info("Índice de supresión reconstruido con {} entradas ({} tramos) en {} ms",
+                written, Math.max(1, runs.size()), (System.nanoTime() - start) / 1_000_000);
+        return open(indexFile, bloom);
+    }
+
+    /**
+     * Indica si el destinatario está suprimido, considerando las altas y bajas no consolidadas.
+     *
+     * @param recipient Dirección, número o token del destinatario.
+     * @return {@code true} si no se debe enviar al destinatario.
+     */
+    @Override
+    public boolean isSuppressed(String recipient) {
+        if (recipient == null) {
+            return false;
+        }
+        long key = key(recipient);
+        if (!removed.isEmpty() && removed.contains(key)) {
+            return false;
+        }
+        Segment current = segment;
+        if (current.bloom() != null && !current.bloom().mightContain(key)) {
+            return false;
+        }
+        return (!added.isEmpty() && added.contains(key)) || current.contains(key);
+    }
+
+    /**
+     * Suprime un destinatario. El cambio es visible de inmediato y se persiste al compactar.
+     *
+     * @param recipient Destinatario a suprimir.
+     */
+    public void add(String recipient) {
+        long key = key(recipient);
+        writeLock.lock();
+        try {
+            removed.remove(key);
+            added.add(key);
+            if (segment.bloom() != null) {
+                segment.bloom().add(key);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Quita un destinatario de la lista. El cambio es visible de inmediato y se persiste al compactar.
+     *
+     * @param recipient Destinatario a reactivar.
+     */
+    public void remove(String recipient) {
+        long key = key(recipient);
+        writeLock.lock();
+        try {
+            added.remove(key);
+            removed.add(key);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Consolida las altas y bajas pendientes en un nuevo archivo de índice y lo publica.
+     * <p>
+     * El archivo se escribe en un temporal y se mueve atómicamente sobre el original; las consultas
+     * en curso continúan sobre el mapeo anterior hasta que terminan.
+     * </p>
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            Long[] pendingAdds = added.toArray(Long[]::new);
+            Long[] pendingRemoves = removed.toArray(Long[]::new);
+            long[] additions = Arrays.stream(pendingAdds).mapToLong(Long::longValue).sorted().toArray();
+            long[] removals = Arrays.stream(pendingRemoves).mapToLong(Long::longValue).sorted().toArray();
+
+            long size;
+            try (IndexWriter out = new IndexWriter(indexFile)) {
+                long i = 0;
+                int a = 0;
+                while (i < current.count() || a < additions.length) {
+                    long next;
+                    if (a >= additions.length || (i < current.count() && current.get(i) <= additions[a])) {
+                        next = current.get(i++);
+                    } else {
+                        next = additions[a++];
+                    }
+                    if (Arrays.binarySearch(removals, next) < 0) {
+                        out.append(next);
+                    }
+                }
+                size = out.publish();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir el índice de supresión " + indexFile, e);
+            }
+            segment = Segment.map(indexFile, bloomEnabled);
+            Arrays.asList(pendingAdds).forEach(added::remove);
+            Arrays.asList(pendingRemoves).forEach(removed::remove);
+            log.info("Índice de supresión compactado: {} entradas", size);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** @return Cantidad de entradas consolidadas en el archivo de índice. */
+    public long size() {
+        return segment.count();
+    }
+
+    /** @return Memoria fuera del heap usada por el índice mapeado y el filtro de Bloom. */
+    public long offHeapBytes() {
+        Segment current = segment;
+        return HEADER_BYTES + current.count() * Long.BYTES + (current.bloom() == null ? 0 : current.bloom().sizeInBytes());
+    }
+
+    /**
+     * Clave de un destinatario: un teléfono escrito como {@code +54 9 11 2222-3333} o {@code 0054911...}
+     * coincide con el E.164 que el servicio consulta tras validar la notificación.
+     */
+    static long key(String recipient) {
+        return hash(NotificationValidator.canonicalRecipient(recipient));
+    }
+
+    /**
+     * Normaliza el destinatario (sin espacios en los extremos y en minúsculas) y lo reduce a un
+     * hash de 64 bits: FNV-1a sobre su codificación UTF-8 con la mezcla final de MurmurHash3 para
+     * repartir bien los bits que usa el filtro de Bloom. Se recorre la cadena sin crear copias.
+     */
+    static long hash(String recipient) {
+        int start = 0;
+        int end = recipient.length();
+        while (start < end && Character.isWhitespace(recipient.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(recipient.charAt(end - 1))) {
+            end--;
+        }
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            int c = recipient.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                h = (h ^ c) * 0x100000001b3L;
+                continue;
+            }
+            int codePoint = Character.toLowerCase(recipient.codePointAt(i));
+            if (Character.isSupplementaryCodePoint(recipient.codePointAt(i))) {
+                i++;
+            }
+            if (codePoint < 0x800) {
+                h = (h ^ (0xc0 | (codePoint >> 6))) * 0x100000001b3L;
+            } else if (codePoint < 0x10000) {
+                h = (h ^ (0xe0 | (codePoint >> 12))) * 0x100000001b3L;
+                h = (h ^ (0x80 | ((codePoint >> 6) & 0x3f))) * 0x100000001b3L;
+            } else {
+                h = (h ^ (0xf0 | (codePoint >> 18))) * 0x100000001b3L;
+                h = (h ^ (0x80 | ((codePoint >> 12) & 0x3f))) * 0x100000001b3L;
+                h = (h ^ (0x80 | ((codePoint >> 6) & 0x3f))) * 0x100000001b3L;
+            }
+            h = (h ^ (0x80 | (codePoint & 0x3f))) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Ordena un tramo y lo vuelca a un archivo temporal junto al índice. */
+    private static Path spill(Path indexFile, long[] chunk, int count) throws IOException {
+        Arrays.parallelSort(chunk, 0, count);
+        Path run = Files.createTempFile(indexFile.toAbsolutePath().getParent(), indexFile.getFileName().toString(), ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            for (int i = 0; i < count; i++) {
+                out.writeLong(chunk[i]);
+            }
+        }
+        return run;
+    }
+
+    /** Fusiona los tramos ordenados leyéndolos en secuencia, con un solo hash de cada uno en memoria. */
+    private static void merge(List<Path> runs, IndexWriter out) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(Comparator.comparingLong(RunReader::head));
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                if (reader.advance()) {
+                    heads.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                out.append(reader.head());
+                if (reader.advance()) {
+                    heads.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+        } finally {
+            for (RunReader reader : heads) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el temporal {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Tramo ordenado volcado a disco durante la reconstrucción, leído de a un hash.
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long head;
+
+        RunReader(Path run) throws IOException {
+            this.remaining = Files.size(run) / Long.BYTES;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+        }
+
+        /** @return {@code false} si el tramo se agotó. */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            head = in.readLong();
+            remaining--;
+            return true;
+        }
+
+        long head() {
+            return head;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Escribe un archivo de índice a partir de hashes recibidos en orden, descartando duplicados.
+     * <p>
+     * Escribe en un temporal junto al índice a través de un buffer fijo, así que no necesita conocer la
+     * cantidad de entradas de antemano; {@link #publish()} completa el encabezado y lo mueve atómicamente
+     * sobre el original. Si se cierra sin publicar, el temporal se borra y el índice anterior queda intacto.
+     * </p>
+     */
+    private static final class IndexWriter implements Closeable {
+        private final Path indexFile;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.nativeOrder());
+        private long written;
+        private long previous;
+        private boolean published;
+
+        IndexWriter(Path indexFile) throws IOException {
+            this.indexFile = indexFile;
+            this.temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), indexFile.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0);
+        }
+
+        void append(long hash) throws IOException {
+            if (written > 0 && hash == previous) {
+                return;
+            }
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(hash);
+            previous = hash;
+            written++;
+        }
+
+        /** @return Cantidad de entradas escritas (sin duplicados). */
+        long publish() throws IOException {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder()).putLong(0, written);
+            channel.write(count, 8);
+            channel.force(true);
+            channel.close();
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            published = true;
+            return written;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!published) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Índice consolidado: mapeo de solo lectura más el filtro de Bloom opcional.
+     */
+    private record Segment(MappedByteBuffer buffer, long count, BloomFilter bloom) {
+
+        static Segment map(Path indexFile, boolean bloomEnabled) {
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.nativeOrder());
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IllegalStateException("Formato de índice de supresión inválido: " + indexFile);
+                }
+                long count = buffer.getLong(8);
+                BloomFilter bloom = null;
+                if (bloomEnabled) {
+                    bloom = BloomFilter.create(count, BLOOM_FALSE_POSITIVE_RATE);
+                    for (long i = 0; i < count; i++) {
+                        bloom.add(buffer.getLong(HEADER_BYTES + (int) (i * Long.BYTES)));
+                    }
+                }
+                return new Segment(buffer, count, bloom);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo abrir el índice de supresión " + indexFile, e);
+            }
+        }
+
+        long get(long index) {
+            return buffer.getLong(HEADER_BYTES + (int) (index * Long.BYTES));
+        }
+
+        /**
+         * Búsqueda por interpolación: al ser hashes uniformes, la posición estimada suele caer a
+         * pocas entradas de la real (~log log n accesos al mapeo). Tras unos pocos pasos sin
+         * converger continúa como búsqueda binaria para acotar el peor caso.
+         */
+        boolean contains(long key) {
+            long low = 0;
+            long high = count - 1;
+            int interpolationSteps = 0;
+            while (low <= high) {
+                long mid;
+                if (interpolationSteps++ < 8) {
+                    long lowValue = get(low);
+                    long highValue = get(high);
+                    if (key < lowValue || key > highValue) {
+                        return false;
+                    }
+                    if (lowValue == highValue) {
+                        return true;
+                    }
+                    double fraction = ((double) key - lowValue) / ((double) highValue - lowValue);
+                    mid = Math.min(high, Math.max(low, low + (long) (fraction * (high - low))));
+                } else {
+                    mid = (low + high) >>> 1;
+                }
+                long value = get(mid);
+                if (value < key) {
+                    low = mid + 1;
+                } else if (value > key) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.pinapp.notification.core.validation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Caché LRU acotada de destinatarios normalizados (y de los rechazados, con su motivo) de un canal.
+ * <p>
+ * Un {@link LinkedHashMap} en orden de acceso protegido por un {@link ReentrantLock} (no {@code synchronized},
+ * para no fijar hilos virtuales), con el destinatario original como clave para no crear objetos por consulta
+ * (el hash de un {@code String} se calcula una sola vez). La normalización se calcula fuera del lock: dos hilos pueden normalizar
+ * el mismo destinatario a la vez, lo que es inocuo porque el resultado es el mismo.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+final class NormalizationCache {
+
+    /**
+     * Resultado de normalizar un destinatario.
+     *
+     * @param recipient Destinatario normalizado, o {@code null} si fue rechazado.
+     * @param error     Motivo del rechazo, o {@code null} si es válido.
+     */
+    record Outcome(String recipient, String error) {
+    }
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Outcome> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    NormalizationCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+                return size() > NormalizationCache.this.capacity;
+            }
+        };
+    }
+
+    Outcome get(String raw, Function<String, Outcome> normalizer) {
+        if (capacity == 0) {
+            misses.increment();
+            return normalizer.apply(raw);
+        }
+        Outcome cached;
+        lock.lock();
+        try {
+            cached = entries.get(raw);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Outcome outcome = normalizer.apply(raw);
+        lock.lock();
+        try {
+            entries.put(raw, outcome);
+        } finally {
+            lock.unlock();
+        }
+        return outcome;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
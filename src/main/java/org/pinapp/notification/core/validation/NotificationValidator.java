@@ -0,0 +1,159 @@
+package org.pinapp.notification.core.validation;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.exceptions.ValidationArgumentException;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.ValidationConfig;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Etapa de validación y normalización previa al despacho.
+ * <p>
+ * Ejecuta las validaciones de la propia notificación ({@link NotificationData#validateAll()} y
+ * {@link NotificationData#validateSpecifics()}) y valida el destinatario según el canal: sintaxis de email,
+ * teléfono en formato E.164, token de dispositivo push o URL de webhook de Slack. Los destinatarios
+ * normalizados (y los rechazados) se guardan en una caché LRU acotada, ya que en las campañas los mismos
+ * destinatarios se repiten constantemente.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class NotificationValidator {
+
+    /** Capacidad por defecto de la caché de destinatarios. */
+    public static final int DEFAULT_CACHE_CAPACITY = ValidationConfig.defaultConfig().cacheCapacity();
+
+    /** Regla de normalización de cada canal, precalculada para no crear lambdas por notificación. */
+    private static final Map<ChannelType, Function<String, NormalizationCache.Outcome>> RULES = new EnumMap<>(ChannelType.class);
+
+    static {
+        RULES.put(ChannelType.EMAIL, outcomeOf(RecipientRules::email));
+        RULES.put(ChannelType.SMS, outcomeOf(RecipientRules::phone));
+        RULES.put(ChannelType.PUSH_NOTIFICATION, outcomeOf(RecipientRules::pushToken));
+        RULES.put(ChannelType.SLACK, outcomeOf(RecipientRules::webhook));
+    }
+
+    /** Una caché por canal: el mismo texto puede ser válido en un canal e inválido en otro. */
+    private final Map<ChannelType, NormalizationCache> caches = new EnumMap<>(ChannelType.class);
+
+    /** Crea un validador con la caché por defecto. */
+    public NotificationValidator() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * @param cacheCapacity Máximo de destinatarios en caché por canal; {@code 0} deshabilita la caché.
+     */
+    public NotificationValidator(int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("La capacidad de la caché no puede ser negativa");
+        }
+        for (ChannelType type : ChannelType.values()) {
+            caches.put(type, new NormalizationCache(cacheCapacity));
+        }
+    }
+
+    /**
+     * Valida la notificación y normaliza su destinatario.
+     *
+     * @param type         Canal por el que se enviará.
+     * @param notification Notificación a validar.
+     * @return La notificación con el destinatario normalizado (la misma instancia si ya lo estaba).
+     * @throws ValidationArgumentException si la notificación o su destinatario son inválidos.
+     */
+    public NotificationData validate(ChannelType type, NotificationData notification) {
+        notification.validateAll();
+        notification.validateSpecifics();
+
+        NormalizationCache.Outcome outcome = caches.get(type).get(notification.to(), RULES.get(type));
+        if (outcome.error() != null) {
+            throw new ValidationArgumentException(outcome.error(), null);
+        }
+        return notification.to().equals(outcome.recipient()) ? notification : notification.withTo(outcome.recipient());
+    }
+
+    /**
+     * Lleva un destinatario de canal desconocido a la forma con la que lo entrega {@link #validate}, para
+     * compararlo con destinatarios ya validados (por ejemplo, las entradas de una lista de supresión).
+     * <p>
+     * Solo los teléfonos tienen más de una escritura que el resto del pipeline no unifica: todo lo que empieza
+     * con {@code +} o {@code 00} y contiene solo dígitos y separadores se normaliza a E.164. El resto se devuelve
+     * sin cambios (la comparación de emails, tokens y webhooks ya ignora mayúsculas y espacios en los extremos),
+     * al igual que un teléfono que no es E.164 válido, que nunca coincidirá con un destinatario validado.
+     * </p>
+     *
+     * @param raw Destinatario tal como fue cargado.
+     * @return El destinatario normalizado (la misma instancia si no requiere cambios).
+     */
+    public static String canonicalRecipient(String raw) {
+        int start = 0;
+        while (start < raw.length() && Character.isWhitespace(raw.charAt(start))) {
+            start++;
+        }
+        if (!raw.startsWith("+", start) && !raw.startsWith("00", start)) {
+            return raw;
+        }
+        boolean canonical = start == 0 && raw.charAt(0) == '+';
+        for (int i = start + 1; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') {
+                continue;
+            }
+            if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')' && !Character.isWhitespace(c)) {
+                return raw;
+            }
+            canonical = false;
+        }
+        if (canonical) {
+            return raw;
+        }
+        try {
+            return RecipientRules.phone(raw);
+        } catch (IllegalArgumentException e) {
+            return raw;
+        }
+    }
+
+    /**
+     * @return Aciertos, fallos y tamaño actual de la caché de destinatarios.
+     */
+    public CacheStats cacheStats() {
+        long hits = 0;
+        long misses = 0;
+        int size = 0;
+        for (NormalizationCache cache : caches.values()) {
+            hits += cache.hits();
+            misses += cache.misses();
+            size += cache.size();
+        }
+        return new CacheStats(hits, misses, size);
+    }
+
+    /**
+     * Estadísticas de la caché de destinatarios.
+     *
+     * @param hits   Destinatarios resueltos desde la caché.
+     * @param misses Destinatarios normalizados por primera vez (o desalojados).
+     * @param size   Entradas actuales.
+     */
+    public record CacheStats(long hits, long misses, int size) {
+        /** @return Proporción de aciertos, entre 0 y 1. */
+        public double hitRate() {
+            long total = hits + misses;
+            return (total == 0) ? 0 : (double) hits / total;
+        }
+    }
+
+    private static Function<String, NormalizationCache.Outcome> outcomeOf(Function<String, String> rule) {
+        return raw -> {
+            try {
+                return new NormalizationCache.Outcome(rule.apply(raw), null);
+            } catch (IllegalArgumentException e) {
+                return new NormalizationCache.Outcome(null, e.getMessage());
+            }
+        };
+    }
+}
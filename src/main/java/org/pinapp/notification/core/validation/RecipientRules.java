@@ -0,0 +1,165 @@
+package org.pinapp.notification.core.validation;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/**
+ * Reglas de validación y normalización de destinatarios por canal.
+ * <p>
+ * Cada regla devuelve el destinatario normalizado o lanza {@link IllegalArgumentException} con el motivo.
+ * Se implementan recorriendo los caracteres, sin expresiones regulares, porque se ejecutan en cada
+ * notificación cuyo destinatario no está en caché.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+final class RecipientRules {
+
+    /** Longitud máxima de una dirección de email (RFC 5321). */
+    private static final int MAX_EMAIL_LENGTH = 254;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    /** Cantidad de dígitos admitida por E.164, incluido el código de país. */
+    private static final int MIN_PHONE_DIGITS = 8;
+    private static final int MAX_PHONE_DIGITS = 15;
+
+    /** Tokens de FCM (~150+ caracteres) y de APNs (64 hexadecimales) entran en este rango. */
+    private static final int MIN_PUSH_TOKEN_LENGTH = 16;
+    private static final int MAX_PUSH_TOKEN_LENGTH = 4096;
+
+    private RecipientRules() {
+    }
+
+    /**
+     * Valida la sintaxis de una dirección de email y normaliza el dominio a minúsculas
+     * (la parte local se conserva: puede ser sensible a mayúsculas).
+     */
+    static String email(String raw) {
+        String email = raw.strip();
+        int at = email.lastIndexOf('@');
+        if (email.length() > MAX_EMAIL_LENGTH || at <= 0 || at == email.length() - 1) {
+            throw new IllegalArgumentException("Dirección de email inválida: " + raw);
+        }
+        if (at > MAX_LOCAL_PART_LENGTH || !isValidLocalPart(email, at)) {
+            throw new IllegalArgumentException("Parte local de email inválida: " + raw);
+        }
+        String domain = email.substring(at + 1).toLowerCase(Locale.ROOT);
+        if (!isValidDomain(domain)) {
+            throw new IllegalArgumentException("Dominio de email inválido: " + raw);
+        }
+        return email.substring(0, at + 1).concat(domain);
+    }
+
+    /**
+     * Normaliza un teléfono a formato E.164 ({@code +<código de país><número>}): quita espacios, guiones,
+     * puntos y paréntesis, y acepta el prefijo internacional {@code 00} en lugar de {@code +}.
+     * No se asume un país por defecto, por lo que los números locales se rechazan.
+     */
+    static String phone(String raw) {
+        StringBuilder digits = new StringBuilder(MAX_PHONE_DIGITS + 1).append('+');
+        int start = 0;
+        String phone = raw.strip();
+        if (phone.startsWith("+")) {
+            start = 1;
+        } else if (phone.startsWith("00")) {
+            start = 2;
+        } else {
+            throw new IllegalArgumentException("El teléfono debe incluir el código de país (+ o 00): " + raw);
+        }
+        for (int i = start; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                throw new IllegalArgumentException("Carácter inválido en el teléfono: " + raw);
+            }
+        }
+        int count = digits.length() - 1;
+        if (count < MIN_PHONE_DIGITS || count > MAX_PHONE_DIGITS || digits.charAt(1) == '0') {
+            throw new IllegalArgumentException("El teléfono no es un número E.164 válido: " + raw);
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Valida un token de dispositivo (FCM o APNs): solo letras, dígitos y {@code - _ : .}.
+     */
+    static String pushToken(String raw) {
+        String token = raw.strip();
+        if (token.length() < MIN_PUSH_TOKEN_LENGTH || token.length() > MAX_PUSH_TOKEN_LENGTH) {
+            throw new IllegalArgumentException("Longitud de token push inválida: " + token.length());
+        }
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!isAsciiAlphanumeric(c) && c != '-' && c != '_' && c != ':' && c != '.') {
+                throw new IllegalArgumentException("Carácter inválido en el token push en la posición " + i);
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Valida la URL de un webhook de Slack: debe ser HTTPS (se admite HTTP solo hacia el propio host,
+     * para relays locales y pruebas).
+     */
+    static String webhook(String raw) {
+        String url = raw.strip();
+        try {
+            URI uri = new URI(url);
+            String host = uri.getHost();
+            boolean loopback = "localhost".equalsIgnoreCase(host) || "127.0.0.1".equals(host);
+            if (host == null || !("https".equalsIgnoreCase(uri.getScheme())
+                    || ("http".equalsIgnoreCase(uri.getScheme()) && loopback))) {
+                throw new IllegalArgumentException("El webhook debe ser una URL HTTPS: " + raw);
+            }
+            return url;
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("URL de webhook inválida: " + raw, e);
+        }
+    }
+
+    private static boolean isValidLocalPart(String email, int at) {
+        if (email.charAt(0) == '.' || email.charAt(at - 1) == '.') {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.' && email.charAt(i + 1) == '.') {
+                return false;
+            }
+            if (!isAsciiAlphanumeric(c) && "!#$%&'*+/=?^_`{|}~.-".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidDomain(String domain) {
+        int labelStart = 0;
+        int labels = 0;
+        for (int i = 0; i <= domain.length(); i++) {
+            if (i == domain.length() || domain.charAt(i) == '.') {
+                int length = i - labelStart;
+                if (length == 0 || length > MAX_LABEL_LENGTH
+                        || domain.charAt(labelStart) == '-' || domain.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+            } else {
+                char c = domain.charAt(i);
+                if (!isAsciiAlphanumeric(c) && c != '-') {
+                    return false;
+                }
+            }
+        }
+        return labels >= 2;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -4,13 +4,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.pinapp.notification.api.ChannelType;
 import org.pinapp.notification.api.NotificationProvider;
 import org.pinapp.notification.api.record.NotificationData;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementación de {@link NotificationProvider} diseñada para simular fallos intermitentes.
  * <p>
  * Esta clase es útil para validar mecanismos de tolerancia a fallos y políticas de reintento (retries).
  * El proveedor fallará sistemáticamente en las primeras llamadas y tendrá éxito a partir del
- * tercer intento.
+ * tercer intento. El contador es compartido por todas las notificaciones; para simulaciones
+ * configurables (latencia, tasas de error, caídas) utilizar {@code SimulatedProvider}.
  * </p>
  * * @author Carlos Catacora
  * @version 1.0
@@ -18,8 +20,8 @@ import org.pinapp.notification.api.record.NotificationData;
 @Slf4j
 public class UnstableEmailProvider implements NotificationProvider {
 
-    /** Contador interno para trackear el número de intentos de envío. */
-    private int count = 0;
+    /** Contador interno (thread-safe) para trackear el número de intentos de envío. */
+    private final AtomicInteger count = new AtomicInteger();
 
     /**
      * Intenta enviar una notificación de correo electrónico.
@@ -33,9 +35,9 @@ public class UnstableEmailProvider implements NotificationProvider {
      */
     @Override
     public void send(NotificationData notification) {
-        count++;
-        if (count < 3) {
-            log.warn("[UnstableEmailProvider] Intento fallido {} para enviar email a: {}", count, notification.to());
+        int attempt = count.incrementAndGet();
+        if (attempt < 3) {
+            log.warn("[UnstableEmailProvider] Intento fallido {} para enviar email a: {}", attempt, notification.to());
             throw new RuntimeException("Error temporal de red (Simulado)");
         }
         log.info("[UnstableEmailProvider] Enviando email exitosamente a: {}", notification.to());
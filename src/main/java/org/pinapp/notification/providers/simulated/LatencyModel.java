@@ -0,0 +1,76 @@
+package org.pinapp.notification.providers.simulated;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de latencias utilizada por el {@link SimulatedProvider}.
+ * <p>
+ * Cada llamada a {@link #sampleNanos(RandomGenerator)} devuelve la latencia que debe simular
+ * el envío en curso. Las implementaciones deben ser inmutables para poder compartirse entre hilos.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /**
+     * Genera una muestra de latencia.
+     *
+     * @param random Generador aleatorio del hilo actual.
+     * @return La latencia a simular, en nanosegundos (nunca negativa).
+     */
+    long sampleNanos(RandomGenerator random);
+
+    /** @return Un modelo sin latencia, útil para medir el overhead del propio servicio. */
+    static LatencyModel none() {
+        return random -> 0L;
+    }
+
+    /**
+     * @param latency Latencia constante de cada envío.
+     * @return Un modelo de latencia fija.
+     */
+    static LatencyModel fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * @param min Latencia mínima.
+     * @param max Latencia máxima (exclusiva).
+     * @return Un modelo con latencia uniformemente distribuida en {@code [min, max)}.
+     */
+    static LatencyModel uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        if (maxNanos <= minNanos) {
+            throw new IllegalArgumentException("La latencia máxima debe ser mayor que la mínima");
+        }
+        return random -> random.nextLong(minNanos, maxNanos);
+    }
+
+    /**
+     * @param mean Latencia media.
+     * @return Un modelo con latencia exponencialmente distribuida.
+     */
+    static LatencyModel exponential(Duration mean) {
+        double meanNanos = mean.toNanos();
+        return random -> (long) (random.nextExponential() * meanNanos);
+    }
+
+    /**
+     * Modelo log-normal, el más parecido a las APIs HTTP reales: la mayoría de las respuestas
+     * se concentran cerca de la mediana pero la cola (p99) puede ser varias veces mayor.
+     *
+     * @param median Latencia mediana (p50).
+     * @param sigma  Dispersión de la distribución; valores entre 0.3 y 1.0 son habituales.
+     * @return Un modelo con latencia log-normal.
+     */
+    static LatencyModel logNormal(Duration median, double sigma) {
+        double mu = Math.log(median.toNanos());
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,24 @@
+package org.pinapp.notification.providers.simulated;
+
+import java.time.Duration;
+
+/**
+ * Ventana de caída simulada, relativa al instante de creación del {@link SimulatedProvider}.
+ *
+ * @param start  Desplazamiento desde la creación del proveedor en el que comienza la caída.
+ * @param length Duración de la caída.
+ */
+public record OutageWindow(
+        Duration start,
+        Duration length
+) {
+    /**
+     * Indica si un instante relativo cae dentro de la ventana.
+     *
+     * @param elapsed Tiempo transcurrido desde la creación del proveedor.
+     * @return {@code true} si el proveedor debe comportarse como caído.
+     */
+    public boolean contains(Duration elapsed) {
+        return elapsed.compareTo(start) >= 0 && elapsed.compareTo(start.plus(length)) < 0;
+    }
+}
@@ -0,0 +1,142 @@
+package org.pinapp.notification.providers.simulated;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.exceptions.ProviderRateLimitException;
+import org.pinapp.notification.api.record.NotificationData;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Proveedor simulado y thread-safe para pruebas de carga y de tolerancia a fallos.
+ * <p>
+ * A diferencia de {@code UnstableEmailProvider}, el comportamiento se define mediante un
+ * {@link SimulationProfile}: distribución de latencias, tasa de errores transitorios,
+ * rechazos por límite de tasa ({@link ProviderRateLimitException}) y ventanas de caída.
+ * Las decisiones se toman por llamada con {@link ThreadLocalRandom}, por lo que el proveedor
+ * puede compartirse entre miles de hilos virtuales sin contención.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+@Slf4j
+public class SimulatedProvider implements NotificationProvider {
+
+    /** Nombre con el que el proveedor se identifica ante el servicio. */
+    private final String name;
+
+    /** Comportamiento simulado. */
+    private final SimulationProfile profile;
+
+    /** Instante de creación, referencia para las ventanas de caída. */
+    private final long createdAtNanos = System.nanoTime();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder outageRejections = new LongAdder();
+
+    /**
+     * Construye un proveedor simulado.
+     *
+     * @param name    Nombre del proveedor (aparece en los logs y resultados).
+     * @param profile Comportamiento a simular.
+     */
+    public SimulatedProvider(String name, SimulationProfile profile) {
+        this.name = name;
+        this.profile = profile;
+    }
+
+    /**
+     * Simula el envío de la notificación según el perfil configurado.
+     *
+     * @param notification El objeto de notificación a "enviar".
+     * @throws ProviderRateLimitException si la llamada es rechazada por límite de tasa.
+     * @throws RuntimeException si la llamada cae en una ventana de caída o en un error transitorio.
+     */
+    @Override
+    public void send(NotificationData notification) {
+        calls.increment();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - createdAtNanos);
+        for (OutageWindow outage : profile.outages()) {
+            if (outage.contains(elapsed)) {
+                outageRejections.increment();
+                throw new RuntimeException("Proveedor fuera de servicio (Simulado)");
+            }
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        simulateLatency(profile.latency().sampleNanos(random));
+
+        double roll = random.nextDouble();
+        if (roll < profile.rateLimitRate()) {
+            rateLimited.increment();
+            throw new ProviderRateLimitException(name, profile.retryAfter());
+        }
+        if (roll < profile.rateLimitRate() + profile.errorRate()) {
+            errors.increment();
+            throw new RuntimeException("Error temporal de red (Simulado)");
+        }
+
+        successes.increment();
+        log.debug("[{}] Envío simulado a: {}", name, notification.to());
+    }
+
+    private void simulateLatency(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Envío simulado interrumpido", e);
+        }
+    }
+
+    /**
+     * Determina si este proveedor puede manejar el tipo de canal especificado.
+     *
+     * @param type El tipo de canal a verificar.
+     * @return {@code true} si el canal coincide con el configurado en el perfil.
+     */
+    @Override
+    public boolean supports(ChannelType type) {
+        return type == profile.channel();
+    }
+
+    /**
+     * Retorna el nombre con el que fue construido el proveedor.
+     *
+     * @return El nombre del proveedor simulado.
+     */
+    @Override
+    public String getProviderName() {
+        return name;
+    }
+
+    /**
+     * @return Una instantánea de los contadores acumulados desde la creación del proveedor.
+     */
+    public Stats stats() {
+        return new Stats(calls.sum(), successes.sum(), errors.sum(), rateLimited.sum(), outageRejections.sum());
+    }
+
+    /**
+     * Contadores de llamadas recibidas por el proveedor simulado.
+     *
+     * @param calls            Total de llamadas a {@code send}.
+     * @param successes        Llamadas completadas con éxito.
+     * @param errors           Llamadas que fallaron con un error transitorio.
+     * @param rateLimited      Llamadas rechazadas por límite de tasa.
+     * @param outageRejections Llamadas rechazadas por una ventana de caída.
+     */
+    public record Stats(long calls, long successes, long errors, long rateLimited, long outageRejections) {
+    }
+}
@@ -0,0 +1,52 @@
+package org.pinapp.notification.providers.simulated;
+
+import lombok.With;
+import org.pinapp.notification.api.ChannelType;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración inmutable del comportamiento de un {@link SimulatedProvider}.
+ * <p>
+ * Se parte de {@link #healthy(ChannelType)} y se ajusta con los métodos {@code with*}:
+ * <pre>{@code
+ * SimulationProfile profile = SimulationProfile.healthy(ChannelType.EMAIL)
+ *         .withLatency(LatencyModel.logNormal(Duration.ofMillis(40), 0.5))
+ *         .withErrorRate(0.02)
+ *         .withRateLimitRate(0.01);
+ * }</pre>
+ * </p>
+ *
+ * @param channel       Canal que atiende el proveedor simulado.
+ * @param latency       Distribución de latencias de cada llamada.
+ * @param errorRate     Probabilidad (0..1) de que una llamada falle con un error transitorio.
+ * @param rateLimitRate Probabilidad (0..1) de que una llamada sea rechazada por límite de tasa.
+ * @param retryAfter    Tiempo de espera informado en los rechazos por límite de tasa.
+ * @param outages       Ventanas en las que el proveedor rechaza todas las llamadas.
+ */
+@With
+public record SimulationProfile(
+        ChannelType channel,
+        LatencyModel latency,
+        double errorRate,
+        double rateLimitRate,
+        Duration retryAfter,
+        List<OutageWindow> outages
+) {
+    public SimulationProfile {
+        if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+            throw new IllegalArgumentException("Las tasas de error deben estar entre 0 y 1");
+        }
+        outages = List.copyOf(outages);
+    }
+
+    /**
+     * Crea un perfil sin latencia ni fallos para el canal indicado.
+     *
+     * @param channel Canal que atenderá el proveedor.
+     * @return Un perfil base sobre el cual aplicar los {@code with*}.
+     */
+    public static SimulationProfile healthy(ChannelType channel) {
+        return new SimulationProfile(channel, LatencyModel.none(), 0, 0, Duration.ofSeconds(1), List.of());
+    }
+}
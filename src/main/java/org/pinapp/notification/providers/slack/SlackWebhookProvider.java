@@ -0,0 +1,448 @@
+package org.pinapp.notification.providers.slack;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.exceptions.ProviderRateLimitException;
+import org.pinapp.notification.api.record.NotificationData;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementación del proveedor <b>Slack</b> mediante Incoming Webhooks.
+ * <p>
+ * Slack admite aproximadamente un mensaje por segundo por webhook; enviar cada notificación por
+ * separado provoca respuestas 429 en cuanto llega una ráfaga. Por eso este proveedor mantiene una
+ * cola por webhook atendida por un único hilo virtual que:
+ * </p>
+ * <ul>
+ *     <li>respeta un intervalo mínimo entre publicaciones al mismo webhook;</li>
+ *     <li>si hay varios mensajes pendientes al momento de publicar, los combina en un único post;</li>
+ *     <li>ante un 429 respeta el {@code Retry-After} reencolando el lote, sin afectar a otros webhooks.</li>
+ * </ul>
+ * <p>
+ * {@link #send(NotificationData)} bloquea el hilo virtual del llamador hasta que su mensaje fue
+ * publicado (solo o combinado), de modo que la política de reintentos del servicio sigue aplicando
+ * a los errores definitivos. El destinatario ({@code to}) de la notificación es la URL del webhook.
+ * Una cola sin mensajes durante {@code idleTimeout} se retira junto con su hilo, para no retener
+ * uno por cada webhook que alguna vez se usó.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ * @see NotificationProvider
+ */
+@Slf4j
+public class SlackWebhookProvider implements NotificationProvider, AutoCloseable {
+
+    /** Intervalo mínimo por defecto entre publicaciones al mismo webhook. */
+    public static final Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(1);
+
+    /** Inactividad por defecto tras la cual se retira la cola de un webhook. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    /** Límite de caracteres recomendado por Slack para el campo {@code text}. */
+    private static final int MAX_BATCH_CHARS = 4000;
+
+    /** Cantidad de 429 consecutivos tolerados para un mismo lote antes de fallar sus mensajes. */
+    private static final int MAX_RATE_LIMIT_REQUEUES = 3;
+
+    /**
+     * Numera las colas para nombrar sus hilos y sus logs: la ruta del webhook contiene el token secreto y no debe
+     * aparecer en ninguno de los dos.
+     */
+    private static final AtomicInteger LANE_IDS = new AtomicInteger();
+
+    private final HttpClient httpClient;
+    private final Duration minInterval;
+    private final int maxBatchMessages;
+    private final Duration idleTimeout;
+
+    /** Colas activas, una por URL de webhook. */
+    private final Map<String, WebhookLane> lanes = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * Construye el proveedor con los valores por defecto (1 post/s por webhook, hasta 50 mensajes por post).
+     */
+    public SlackWebhookProvider() {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build(), DEFAULT_MIN_INTERVAL, 50);
+    }
+
+    /**
+     * Construye el proveedor con una configuración específica.
+     *
+     * @param httpClient       Cliente HTTP utilizado para publicar en los webhooks.
+     * @param minInterval      Intervalo mínimo entre publicaciones al mismo webhook.
+     * @param maxBatchMessages Cantidad máxima de mensajes combinados en un único post.
+     */
+    public SlackWebhookProvider(HttpClient httpClient, Duration minInterval, int maxBatchMessages) {
+        this(httpClient, minInterval, maxBatchMessages, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Construye el proveedor con una configuración específica.
+     *
+     * @param httpClient       Cliente HTTP utilizado para publicar en los webhooks.
+     * @param minInterval      Intervalo mínimo entre publicaciones al mismo webhook.
+     * @param maxBatchMessages Cantidad máxima de mensajes combinados en un único post.
+     * @param idleTimeout      Inactividad tras la cual se retira la cola de un webhook.
+     */
+    public SlackWebhookProvider(HttpClient httpClient, Duration minInterval, int maxBatchMessages, Duration idleTimeout) {
+        if (maxBatchMessages < 1) {
+            throw new IllegalArgumentException("maxBatchMessages debe ser al menos 1");
+        }
+        this.httpClient = httpClient;
+        this.minInterval = minInterval;
+        this.maxBatchMessages = maxBatchMessages;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Encola el mensaje en la cola del webhook y espera a que sea publicado.
+     *
+     * @param notification Notificación cuyo {@code to} es la URL del webhook.
+     * @throws ProviderRateLimitException si Slack siguió rechazando el lote tras varios {@code Retry-After}.
+     * @throws IllegalStateException si el proveedor está cerrado.
+     * @throws RuntimeException si la publicación falla o el hilo es interrumpido.
+     */
+    @Override
+    public void send(NotificationData notification) {
+        PendingMessage message = new PendingMessage(notification.body(), new CompletableFuture<>());
+        WebhookLane lane = lane(notification.to());
+        while (!lane.enqueue(message)) {
+            // La cola fue retirada (por inactividad o cierre) entre la búsqueda y el encolado.
+            lanes.remove(notification.to(), lane);
+            lane = lane(notification.to());
+        }
+        if (closed) {
+            // close() pudo recorrer las colas antes de que esta se agregara al mapa.
+            lane.shutdown();
+        }
+
+        try {
+            message.published().get();
+        } catch (InterruptedException e) {
+            lane.remove(message);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Envío a Slack interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return La cola del webhook, creándola si no existe; el chequeo de cierre ocurre dentro de la creación
+     * para que un envío concurrente con {@link #close()} no agregue una cola que nadie detendría.
+     */
+    private WebhookLane lane(String url) {
+        return lanes.computeIfAbsent(url, key -> {
+            if (closed) {
+                throw new IllegalStateException("El proveedor de Slack está cerrado");
+            }
+            return new WebhookLane(key);
+        });
+    }
+
+    /** @return Cantidad de colas activas (una por webhook con uso reciente). */
+    int activeLanes() {
+        return lanes.size();
+    }
+
+    /**
+     * Determina si este proveedor puede gestionar el tipo de canal solicitado.
+     *
+     * @param type El tipo de canal a verificar.
+     * @return {@code true} únicamente si el tipo es {@link ChannelType#SLACK}.
+     */
+    @Override
+    public boolean supports(ChannelType type) {
+        return type == ChannelType.SLACK;
+    }
+
+    /**
+     * Devuelve el nombre identificador del proveedor.
+     *
+     * @return Una cadena con el nombre "SlackWebhook".
+     */
+    @Override
+    public String getProviderName() {
+        return "SlackWebhook";
+    }
+
+    /**
+     * Detiene los hilos de las colas y falla los mensajes que no llegaron a publicarse. Los envíos
+     * posteriores fallan con {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        lanes.values().forEach(WebhookLane::shutdown);
+        lanes.clear();
+    }
+
+    /**
+     * Mensaje a la espera de ser publicado.
+     *
+     * @param text      Texto del mensaje.
+     * @param published Se completa cuando el post que lo contiene fue aceptado por Slack.
+     */
+    private record PendingMessage(String text, CompletableFuture<Void> published) {
+    }
+
+    /**
+     * Cola de un webhook junto con el hilo virtual que la drena respetando el límite de tasa.
+     */
+    private final class WebhookLane {
+
+        private final String url;
+        private final URI uri;
+        private final String name;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final ArrayDeque<PendingMessage> pending = new ArrayDeque<>();
+        private final Thread worker;
+
+        /** Instante (en {@link System#nanoTime()}) a partir del cual se puede volver a publicar. */
+        private long nextAllowedNanos = System.nanoTime();
+
+        /** 429 consecutivos recibidos para el lote en la cabeza de la cola. */
+        private int consecutiveRateLimits;
+
+        /** La cola fue retirada o cerrada y ya no acepta mensajes (protegido por {@code lock}). */
+        private boolean stopped;
+
+        WebhookLane(String url) {
+            this.url = url;
+            this.uri = URI.create(url);
+            this.name = "slack-webhook-" + LANE_IDS.incrementAndGet();
+            this.worker = Thread.ofVirtual().name(name).start(this::drain);
+        }
+
+        /**
+         * @return {@code false} si la cola ya fue retirada y el mensaje debe ir a otra.
+         */
+        boolean enqueue(PendingMessage message) {
+            lock.lock();
+            try {
+                if (stopped) {
+                    return false;
+                }
+                pending.addLast(message);
+                changed.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(PendingMessage message) {
+            lock.lock();
+            try {
+                pending.remove(message);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void shutdown() {
+            lock.lock();
+            try {
+                stopped = true;
+                pending.forEach(m -> m.published().completeExceptionally(
+                        new IllegalStateException("El proveedor de Slack fue cerrado")));
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            worker.interrupt();
+        }
+
+        private void drain() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    List<PendingMessage> batch = takeBatch();
+                    if (batch == null) {
+                        lanes.remove(url, this);
+                        return;
+                    }
+                    post(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Espera a que haya mensajes y a que el webhook admita un nuevo post, y toma como lote
+         * todos los mensajes pendientes que entren en un único mensaje de Slack.
+         *
+         * @return El lote, o {@code null} si la cola estuvo vacía durante {@code idleTimeout} y fue retirada.
+         */
+        private List<PendingMessage> takeBatch() throws InterruptedException {
+            lock.lock();
+            try {
+                long idleNanos = idleTimeout.toNanos();
+                while (true) {
+                    if (pending.isEmpty()) {
+                        if (idleNanos <= 0) {
+                            stopped = true;
+                            return null;
+                        }
+                        idleNanos = changed.awaitNanos(idleNanos);
+                        continue;
+                    }
+                    long wait = nextAllowedNanos - System.nanoTime();
+                    if (wait > 0) {
+                        changed.awaitNanos(wait);
+                        continue;
+                    }
+                    List<PendingMessage> batch = new ArrayList<>();
+                    int chars = 0;
+                    while (!pending.isEmpty() && batch.size() < maxBatchMessages) {
+                        int length = pending.peekFirst().text().length() + 1;
+                        if (!batch.isEmpty() && chars + length > MAX_BATCH_CHARS) {
+                            break;
+                        }
+                        chars += length;
+                        batch.add(pending.pollFirst());
+                    }
+                    return batch;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void post(List<PendingMessage> batch) throws InterruptedException {
+            String text = String.join("\n", batch.stream().map(PendingMessage::text).toList());
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"text\":" + jsonString(text) + "}"))
+                    .build();
+
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (InterruptedException e) {
+                // El proveedor se cerró con el post en curso: el lote ya salió de la cola, así que se falla aquí.
+                fail(batch, new IllegalStateException("El proveedor de Slack fue cerrado"));
+                throw e;
+            } catch (IOException e) {
+                log.warn("Error de red publicando en Slack desde {} ({} mensajes): {}", name, batch.size(), e.getMessage());
+                scheduleNext(minInterval);
+                fail(batch, new RuntimeException("Error de red publicando en Slack", e));
+                return;
+            }
+
+            if (response.statusCode() == 429) {
+                Duration retryAfter = parseRetryAfter(response);
+                scheduleNext(retryAfter);
+                if (++consecutiveRateLimits > MAX_RATE_LIMIT_REQUEUES) {
+                    consecutiveRateLimits = 0;
+                    fail(batch, new ProviderRateLimitException(getProviderName(), retryAfter));
+                } else {
+                    log.debug("Slack respondió 429 para {}, reintentando en {} ms", name, retryAfter.toMillis());
+                    requeue(batch);
+                }
+                return;
+            }
+
+            consecutiveRateLimits = 0;
+            scheduleNext(minInterval);
+            if (response.statusCode() / 100 == 2) {
+                log.info("Publicados {} mensajes en Slack en un único post", batch.size());
+                batch.forEach(m -> m.published().complete(null));
+            } else {
+                fail(batch, new RuntimeException("Slack respondió " + response.statusCode() + ": " + response.body()));
+            }
+        }
+
+        private void scheduleNext(Duration delay) {
+            lock.lock();
+            try {
+                nextAllowedNanos = System.nanoTime() + delay.toNanos();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void requeue(List<PendingMessage> batch) {
+            lock.lock();
+            try {
+                if (stopped) {
+                    fail(batch, new IllegalStateException("El proveedor de Slack fue cerrado"));
+                    return;
+                }
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    PendingMessage message = batch.get(i);
+                    if (!message.published().isDone()) {
+                        pending.addFirst(message);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void fail(List<PendingMessage> batch, RuntimeException error) {
+            batch.forEach(m -> m.published().completeExceptionally(error));
+        }
+
+        private Duration parseRetryAfter(HttpResponse<?> response) {
+            return response.headers().firstValue("Retry-After")
+                    .map(value -> {
+                        try {
+                            return Duration.ofSeconds(Long.parseLong(value.trim()));
+                        } catch (NumberFormatException e) {
+                            return minInterval;
+                        }
+                    })
+                    .orElse(minInterval);
+        }
+    }
+
+    /**
+     * Serializa un texto como literal de cadena JSON.
+     */
+    static String jsonString(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 16).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
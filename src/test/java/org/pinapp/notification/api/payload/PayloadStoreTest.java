@@ -0,0 +1,105 @@
+package org.pinapp.notification.api.payload;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del almacén de payloads compartidos y de su ciclo de vida dentro del servicio.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class PayloadStoreTest {
+
+    private static final String HTML = "<html><body>Oferta de temporada áéí</body></html>";
+
+    /**
+     * Internar el mismo contenido debe devolver la misma referencia y almacenarlo una sola vez;
+     * al liberar todas las referencias el contenido debe desalojarse.
+     */
+    @Test
+    @DisplayName("Debe deduplicar el contenido y desalojarlo al liberar la última referencia")
+    void shouldDeduplicateAndEvictOnLastRelease() {
+        PayloadStore store = PayloadStore.onHeap();
+
+        PayloadRef first = store.intern(HTML);
+        PayloadRef second = store.intern(new String(HTML.toCharArray()));
+
+        assertSame(first, second);
+        assertEquals(1, store.size());
+        assertEquals(HTML.getBytes(StandardCharsets.UTF_8).length, store.storedBytes());
+        assertEquals(2, first.refCount());
+
+        first.release();
+        assertEquals(1, store.size());
+        second.release();
+        assertEquals(0, store.size());
+        assertEquals(0, store.storedBytes());
+        assertThrows(IllegalStateException.class, first::retain);
+    }
+
+    /**
+     * En modo fuera del heap el contenido debe exponerse como una vista directa y de solo lectura.
+     */
+    @Test
+    @DisplayName("Debe exponer el contenido fuera del heap sin copias y en solo lectura")
+    void shouldExposeOffHeapReadOnlyContent() {
+        PayloadRef ref = PayloadStore.offHeap().intern(HTML);
+
+        ByteBuffer content = ref.content();
+        assertTrue(content.isDirect());
+        assertTrue(content.isReadOnly());
+        assertEquals(HTML, ref.asString());
+        assertEquals(HTML, EmailData.withPayload("a@pinapp.com", "b@pinapp.com", "Asunto", ref,
+                NotificationPriority.LOW, null).body());
+    }
+
+    /**
+     * Tras enviar una campaña, el servicio debe haber liberado la referencia de cada notificación
+     * de modo que el contenido se desaloje cuando el llamador libera la suya.
+     */
+    @Test
+    @DisplayName("El servicio debe liberar las referencias al resolver cada notificación")
+    void serviceShouldReleaseReferencesWhenNotificationsResolve() {
+        PayloadStore store = PayloadStore.offHeap();
+        AtomicInteger bytesRead = new AtomicInteger();
+        NotificationService service = new NotificationService(new RetryConfig(1, 10));
+        service.registerProvider(new SimulatedProvider("SimEmail", SimulationProfile.healthy(ChannelType.EMAIL)) {
+            @Override
+            public void send(NotificationData notification) {
+                super.send(notification);
+                bytesRead.addAndGet(notification.payload().content().remaining());
+            }
+        });
+
+        PayloadRef html = store.intern(HTML);
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(service.sendAsync(ChannelType.EMAIL, EmailData.withPayload("news@pinapp.com",
+                    "user" + i + "@pinapp.com", "Campaña", html.retain(), NotificationPriority.LOW, null)));
+        }
+        results.forEach(r -> assertEquals(NotificationStatus.SENT, r.join().status()));
+
+        assertEquals(100 * html.length(), bytesRead.get());
+        assertEquals(1, html.refCount());
+        html.release();
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,72 @@
+package org.pinapp.notification.benchmark;
+
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.payload.PayloadRef;
+import org.pinapp.notification.api.payload.PayloadStore;
+import org.pinapp.notification.api.record.EmailData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de huella en el heap de una cola de campaña con un cuerpo HTML de 50 KB.
+ * <p>
+ * Compara una cola de N destinatarios que comparten un {@link PayloadRef} (en el heap y fuera de él)
+ * contra registros que guardan cada uno su propio {@code String}. Esta última variante se mide sobre
+ * una muestra y se extrapola, ya que con 1M de destinatarios requeriría ~49 GB (el HTML es ASCII y cada
+ * {@code String} guarda un byte por carácter).
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.pinapp.notification.benchmark.PayloadFootprintBenchmark -Dexec.args="1000000"
+ * </pre>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class PayloadFootprintBenchmark {
+
+    private static final int BODY_BYTES = 50 * 1024;
+    private static final int NAIVE_SAMPLE = 2_000;
+
+    public static void main(String[] args) {
+        int recipients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String html = "<p>" + "x".repeat(BODY_BYTES - 7) + "</p>";
+
+        for (PayloadStore store : new PayloadStore[]{PayloadStore.onHeap(), PayloadStore.offHeap()}) {
+            long before = usedHeap();
+            PayloadRef ref = store.intern(html);
+            List<EmailData> queue = new ArrayList<>(recipients);
+            for (int i = 0; i < recipients; i++) {
+                queue.add(EmailData.withPayload("news@pinapp.com", "user" + i + "@example.com", "Campaña",
+                        ref.retain(), NotificationPriority.LOW, "marketing"));
+            }
+            long used = usedHeap() - before;
+            System.out.printf("Payload compartido (%s): %d destinatarios, heap=%d MB (%.0f bytes/destinatario), contenido=%d KB%n",
+                    ref.content().isDirect() ? "fuera del heap" : "heap", queue.size(), used >> 20,
+                    (double) used / recipients, store.storedBytes() >> 10);
+            queue.forEach(n -> n.payload().release());
+            ref.release();
+            queue = null;
+        }
+
+        long before = usedHeap();
+        List<EmailData> sample = new ArrayList<>(NAIVE_SAMPLE);
+        for (int i = 0; i < NAIVE_SAMPLE; i++) {
+            sample.add(new EmailData("news@pinapp.com", "user" + i + "@example.com", "Campaña",
+                    new String(html.toCharArray()), null, NotificationPriority.LOW, "marketing"));
+        }
+        double perRecipient = (double) (usedHeap() - before) / sample.size();
+        System.out.printf("String por destinatario: %.0f bytes/destinatario, estimado para %d = %d MB%n",
+                perRecipient, recipients, (long) (perRecipient * recipients) >> 20);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,130 @@
+package org.pinapp.notification.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.QueueConfig;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.core.cluster.PartitionedQueue;
+import org.pinapp.notification.core.cluster.QueueWorker;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark de la cola particionada: rendimiento (notificaciones/s) al sumar nodos consumidores.
+ * <p>
+ * Cada nodo es un {@link QueueWorker} con su propio servicio y un proveedor de capacidad acotada
+ * ({@value #NODE_CAPACITY} envíos simultáneos de {@value #SEND_LATENCY_MS} ms), que modela el límite de conexiones
+ * o CPU de una instancia. Los nodos corren en la misma JVM, así que mide el reparto de particiones y no el costo
+ * de la red ni del disco compartido. Al terminar informa los bytes que quedan en disco, que solo deben incluir el
+ * último segmento de cada partición.
+ * </p>
+ * <p>
+ * No forma parte de la suite de tests; se ejecuta manualmente:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.pinapp.notification.benchmark.QueueScalingBenchmark -Dexec.args="20000"
+ * </pre>
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class QueueScalingBenchmark {
+
+    private static final int PARTITIONS = 16;
+    private static final int NODE_CAPACITY = 8;
+    private static final long SEND_LATENCY_MS = 2;
+    private static final QueueConfig CONFIG = new QueueConfig(64, Duration.ofMillis(1500), Duration.ofMillis(200), Duration.ofMillis(10));
+
+    public static void main(String[] args) throws Exception {
+        int notifications = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        // Sin el log por notificación, que dominaría la medición.
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        for (int nodes : new int[]{1, 2, 4, 8}) {
+            run(nodes, notifications);
+        }
+    }
+
+    private static void run(int nodes, int notifications) throws Exception {
+        Path dir = Files.createTempDirectory("queue-bench");
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, PARTITIONS, 64 * 1024)) {
+            List<QueueWorker> workers = new ArrayList<>();
+            for (int n = 0; n < nodes; n++) {
+                NotificationService service = new NotificationService(new RetryConfig(1, 10));
+                service.registerProvider(new BoundedProvider());
+                workers.add(new QueueWorker("node-" + n, queue, service, CONFIG));
+            }
+            workers.forEach(QueueWorker::start);
+            // Se mide con las particiones ya repartidas, no el arranque del grupo.
+            int share = Math.ceilDiv(PARTITIONS, nodes);
+            while (workers.stream().anyMatch(worker -> worker.ownedPartitions().size() != share)) {
+                Thread.sleep(50);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < notifications; i++) {
+                queue.enqueue(ChannelType.SMS, new SmsData("+5491100000000", "+54911" + (20_000_000 + i),
+                        "Mensaje " + i, null, NotificationPriority.MEDIUM));
+            }
+            while (workers.stream().mapToLong(QueueWorker::dispatched).sum() < notifications) {
+                Thread.sleep(5);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            // Deja pasar la última confirmación, que es la que borra los segmentos consumidos.
+            Thread.sleep(200);
+            System.out.printf("nodos=%d  %,.0f notificaciones/s  (%.2f s, en disco: %,d bytes)%n",
+                    nodes, notifications / seconds, seconds, diskBytes(dir));
+            workers.forEach(QueueWorker::close);
+        }
+    }
+
+    private static long diskBytes(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    /**
+     * Proveedor con una cantidad fija de envíos simultáneos, como una instancia con un pool de conexiones.
+     */
+    private static final class BoundedProvider implements NotificationProvider {
+        private final Semaphore connections = new Semaphore(NODE_CAPACITY);
+
+        @Override
+        public void send(NotificationData notification) {
+            try {
+                connections.acquire();
+                try {
+                    Thread.sleep(SEND_LATENCY_MS);
+                } finally {
+                    connections.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean supports(ChannelType type) {
+            return type == ChannelType.SMS;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "BoundedSms";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.pinapp.notification.benchmark;
+
+import org.pinapp.notification.core.suppression.MappedSuppressionIndex;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Benchmark del índice de supresión: costo de consulta (ns/op) y bytes por entrada,
+ * comparado con un {@code HashSet<String>} en el heap.
+ * <p>
+ * No forma parte de la suite de tests; se ejecuta manualmente:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.pinapp.notification.benchmark.SuppressionIndexBenchmark -Dexec.args="5000000"
+ * </pre>
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class SuppressionIndexBenchmark {
+
+    private static final int LOOKUPS = 5_000_000;
+
+    public static void main(String[] args) throws IOException {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path dir = Files.createTempDirectory("suppression-bench");
+        Path source = dir.resolve("suppressed.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(source, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < entries; i++) {
+                writer.write(recipient(i));
+                writer.newLine();
+            }
+        }
+
+        for (boolean bloom : new boolean[]{false, true}) {
+            long start = System.nanoTime();
+            MappedSuppressionIndex index = MappedSuppressionIndex.build(source, dir.resolve("index.bin"), bloom);
+            long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("%nBloom=%s, entradas=%d, build=%d ms, bytes/entrada=%.2f (fuera del heap)%n",
+                    bloom, index.size(), buildMillis, (double) index.offHeapBytes() / index.size());
+            System.out.printf("  hit:  %.1f ns/op%n", measure(index, 0, entries));
+            System.out.printf("  miss: %.1f ns/op%n", measure(index, entries, entries));
+        }
+
+        int sample = Math.min(entries, 1_000_000);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        Set<String> hashSet = new HashSet<>();
+        for (int i = 0; i < sample; i++) {
+            hashSet.add(recipient(i));
+        }
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("%nHashSet<String> (%d entradas): bytes/entrada=%.2f (heap)%n",
+                hashSet.size(), (double) (after - before) / hashSet.size());
+    }
+
+    private static double measure(MappedSuppressionIndex index, int offset, int range) {
+        String[] keys = new String[4096];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = recipient(offset + (int) ((i * 2654435761L) % range));
+        }
+        int found = 0;
+        for (int i = 0; i < LOOKUPS / 5; i++) {
+            found += index.isSuppressed(keys[i & (keys.length - 1)]) ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.isSuppressed(keys[i & (keys.length - 1)]) ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found == -1) {
+            System.out.println(found);
+        }
+        return (double) elapsed / LOOKUPS;
+    }
+
+    private static String recipient(int i) {
+        return (i % 3 == 0) ? "+5491" + (100_000_000 + i) : "user" + i + "@example.com";
+    }
+}
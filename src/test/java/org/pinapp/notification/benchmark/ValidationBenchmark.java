@@ -0,0 +1,79 @@
+package org.pinapp.notification.benchmark;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.core.validation.NotificationValidator;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark del costo de validación y normalización por notificación, con y sin caché de destinatarios.
+ * <p>
+ * Los destinatarios se eligen de un conjunto de tamaño fijo con una distribución sesgada (unos pocos
+ * destinatarios concentran la mayoría de los envíos, como en las alertas y campañas recurrentes), y se
+ * informa la tasa de aciertos de la caché para distintas capacidades.
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.pinapp.notification.benchmark.ValidationBenchmark -Dexec.args="200000 2000000"
+ * </pre>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class ValidationBenchmark {
+
+    public static void main(String[] args) {
+        int recipients = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        NotificationData[] emails = new NotificationData[recipients];
+        NotificationData[] phones = new NotificationData[recipients];
+        for (int i = 0; i < recipients; i++) {
+            emails[i] = new EmailData("news@pinapp.com", "User.%d@Example.COM".formatted(i), "Novedades", "Cuerpo",
+                    null, NotificationPriority.LOW);
+            phones[i] = new SmsData("PinApp", "+54 9 11 %04d-%04d".formatted(i / 10_000, i % 10_000), "Código: 1234",
+                    null, NotificationPriority.HIGH);
+        }
+        int[] sequence = skewedSequence(recipients, operations);
+
+        for (int capacity : new int[]{0, recipients / 100, recipients / 10, recipients}) {
+            run("EMAIL", ChannelType.EMAIL, emails, sequence, capacity);
+            run("SMS  ", ChannelType.SMS, phones, sequence, capacity);
+        }
+    }
+
+    private static void run(String label, ChannelType type, NotificationData[] data, int[] sequence, int capacity) {
+        NotificationValidator validator = new NotificationValidator(capacity);
+        long checksum = 0;
+        // Calentamiento del JIT sobre la misma secuencia.
+        for (int i = 0; i < sequence.length / 4; i++) {
+            checksum += validator.validate(type, data[sequence[i]]).to().length();
+        }
+        validator = new NotificationValidator(capacity);
+        long start = System.nanoTime();
+        for (int index : sequence) {
+            checksum += validator.validate(type, data[index]).to().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        NotificationValidator.CacheStats stats = validator.cacheStats();
+        System.out.printf("%s caché=%7d: %6.0f ns/op, aciertos=%5.1f%% (checksum %d)%n", label, capacity,
+                (double) elapsed / sequence.length, stats.hitRate() * 100, checksum);
+    }
+
+    /**
+     * Secuencia de índices con distribución aproximadamente Zipf (s≈1): el índice {@code k} aparece con
+     * probabilidad proporcional a {@code 1/(k+1)}.
+     */
+    private static int[] skewedSequence(int recipients, int operations) {
+        SplittableRandom random = new SplittableRandom(42);
+        double logN = Math.log(recipients + 1.0);
+        int[] sequence = new int[operations];
+        for (int i = 0; i < operations; i++) {
+            sequence[i] = Math.min(recipients - 1, (int) Math.exp(random.nextDouble() * logN) - 1);
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,188 @@
+package org.pinapp.notification.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.payload.PayloadRef;
+import org.pinapp.notification.api.payload.PayloadStore;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.FanOutPolicy;
+import org.pinapp.notification.api.record.MultiChannelResult;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.PushNotificationData;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.providers.simulated.LatencyModel;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del envío multicanal con políticas de finalización.
+ * <p>
+ * Verifica que el resultado agregado se publique en cuanto se cumple la política, que los canales
+ * pendientes se cancelen y que ningún hilo de proveedor siga en ejecución después del resultado.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class MultiChannelDispatchTest {
+
+    private static final Set<ChannelType> ALERT_CHANNELS =
+            EnumSet.of(ChannelType.EMAIL, ChannelType.SMS, ChannelType.PUSH_NOTIFICATION);
+
+    private NotificationService notificationService;
+
+    /** Envíos iniciados y terminados por los proveedores, para detectar hilos huérfanos. */
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService(new RetryConfig(3, 10));
+    }
+
+    private void register(ChannelType channel, SimulationProfile profile) {
+        notificationService.registerProvider(new SimulatedProvider("Sim" + channel, profile) {
+            @Override
+            public void send(NotificationData notification) {
+                started.incrementAndGet();
+                try {
+                    super.send(notification);
+                } finally {
+                    finished.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    private static NotificationData securityAlert(ChannelType channel) {
+        return switch (channel) {
+            case EMAIL -> new EmailData("security@pinapp.com", "user@pinapp.com", "Nuevo inicio de sesión",
+                    "Detectamos un inicio de sesión desde un nuevo dispositivo", null, NotificationPriority.URGENT);
+            case SMS -> new SmsData("+5491100000000", "+5491122223333",
+                    "Nuevo inicio de sesión detectado", null, NotificationPriority.URGENT);
+            default -> new PushNotificationData("security", "fcm-token-0123456789abcdef",
+                    "Nuevo inicio de sesión detectado", null, NotificationPriority.URGENT);
+        };
+    }
+
+    /**
+     * Con la política "cualquier éxito", el resultado debe llegar con el canal más rápido y los
+     * canales lentos deben cancelarse sin dejar hilos en ejecución.
+     */
+    @Test
+    @DisplayName("Debe terminar con el primer canal exitoso y cancelar el resto")
+    void anySuccessShouldReturnOnFirstDeliveryAndCancelTheRest() {
+        register(ChannelType.EMAIL, SimulationProfile.healthy(ChannelType.EMAIL)
+                .withLatency(LatencyModel.fixed(Duration.ofMillis(20))));
+        register(ChannelType.SMS, SimulationProfile.healthy(ChannelType.SMS)
+                .withLatency(LatencyModel.fixed(Duration.ofSeconds(5))));
+        register(ChannelType.PUSH_NOTIFICATION, SimulationProfile.healthy(ChannelType.PUSH_NOTIFICATION)
+                .withLatency(LatencyModel.fixed(Duration.ofSeconds(5))));
+
+        MultiChannelResult result = notificationService
+                .sendMulti(ALERT_CHANNELS, MultiChannelDispatchTest::securityAlert, FanOutPolicy.anySuccess())
+                .join();
+
+        assertTrue(result.satisfied());
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(1)) < 0, "Demoró " + result.elapsed());
+        assertEquals(NotificationStatus.SENT, result.results().get(ChannelType.EMAIL).status());
+        assertEquals(NotificationStatus.CANCELLED, result.results().get(ChannelType.SMS).status());
+        assertEquals(NotificationStatus.CANCELLED, result.results().get(ChannelType.PUSH_NOTIFICATION).status());
+        assertEquals(started.get(), finished.get(), "Quedaron envíos en ejecución tras el resultado");
+    }
+
+    /**
+     * Con la política "todos", el resultado debe incluir cada canal y cumplirse solo si todos fueron exitosos.
+     */
+    @Test
+    @DisplayName("Debe esperar a todos los canales con la política ALL")
+    void allShouldWaitForEveryChannel() {
+        ALERT_CHANNELS.forEach(channel -> register(channel, SimulationProfile.healthy(channel)
+                .withLatency(LatencyModel.uniform(Duration.ofMillis(5), Duration.ofMillis(50)))));
+
+        MultiChannelResult result = notificationService
+                .sendMulti(ALERT_CHANNELS, MultiChannelDispatchTest::securityAlert, FanOutPolicy.all())
+                .join();
+
+        assertTrue(result.satisfied());
+        assertEquals(3, result.successCount());
+    }
+
+    /**
+     * Con la política "todos", el primer canal fallido ya impide cumplirla: el resultado debe llegar
+     * sin esperar a los canales lentos, que deben cancelarse.
+     */
+    @Test
+    @DisplayName("Debe terminar con el primer fallo y cancelar el resto con la política ALL")
+    void allShouldGiveUpOnFirstFailure() {
+        register(ChannelType.EMAIL, SimulationProfile.healthy(ChannelType.EMAIL));
+        register(ChannelType.SMS, SimulationProfile.healthy(ChannelType.SMS).withErrorRate(1.0));
+        register(ChannelType.PUSH_NOTIFICATION, SimulationProfile.healthy(ChannelType.PUSH_NOTIFICATION)
+                .withLatency(LatencyModel.fixed(Duration.ofSeconds(5))));
+
+        MultiChannelResult result = notificationService
+                .sendMulti(ALERT_CHANNELS, MultiChannelDispatchTest::securityAlert, FanOutPolicy.all())
+                .join();
+
+        assertFalse(result.satisfied());
+        assertEquals(NotificationStatus.FAILED, result.results().get(ChannelType.SMS).status());
+        assertEquals(NotificationStatus.CANCELLED, result.results().get(ChannelType.PUSH_NOTIFICATION).status());
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(1)) < 0, "Demoró " + result.elapsed());
+        assertEquals(started.get(), finished.get(), "Quedaron envíos en ejecución tras el resultado");
+    }
+
+    /**
+     * Si construir la notificación de un canal falla, las referencias a payloads ya tomadas por los
+     * canales anteriores deben liberarse antes de propagar el error.
+     */
+    @Test
+    @DisplayName("Debe liberar los payloads ya construidos si falla la construcción de un canal")
+    void shouldReleaseBuiltPayloadsWhenANotificationCannotBeBuilt() {
+        PayloadRef html = PayloadStore.onHeap().intern("<p>Detectamos un inicio de sesión desde un nuevo dispositivo</p>");
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> notificationService
+                .sendMulti(ALERT_CHANNELS, channel -> switch (channel) {
+                    case EMAIL -> EmailData.withPayload("security@pinapp.com", "user@pinapp.com",
+                            "Nuevo inicio de sesión", html.retain(), NotificationPriority.URGENT, null);
+                    default -> throw new IllegalStateException("Sin destinatario para " + channel);
+                }, FanOutPolicy.all()));
+
+        assertEquals("Sin destinatario para SMS", error.getMessage());
+        assertEquals(1, html.refCount());
+    }
+
+    /**
+     * Si el plazo vence antes de reunir los éxitos requeridos, los canales pendientes deben
+     * cancelarse y el resultado debe indicar que la política no se cumplió.
+     */
+    @Test
+    @DisplayName("Debe cancelar los canales pendientes al vencer el plazo de FIRST_N")
+    void firstNShouldGiveUpAtDeadline() {
+        register(ChannelType.EMAIL, SimulationProfile.healthy(ChannelType.EMAIL));
+        register(ChannelType.SMS, SimulationProfile.healthy(ChannelType.SMS).withErrorRate(1.0));
+        register(ChannelType.PUSH_NOTIFICATION, SimulationProfile.healthy(ChannelType.PUSH_NOTIFICATION)
+                .withLatency(LatencyModel.fixed(Duration.ofSeconds(5))));
+
+        MultiChannelResult result = notificationService
+                .sendMulti(ALERT_CHANNELS, MultiChannelDispatchTest::securityAlert,
+                        FanOutPolicy.firstN(2, Duration.ofMillis(300)))
+                .join();
+
+        assertFalse(result.satisfied());
+        assertEquals(1, result.successCount());
+        assertEquals(NotificationStatus.FAILED, result.results().get(ChannelType.SMS).status());
+        assertEquals(NotificationStatus.CANCELLED, result.results().get(ChannelType.PUSH_NOTIFICATION).status());
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(1)) < 0, "Demoró " + result.elapsed());
+        assertEquals(started.get(), finished.get(), "Quedaron envíos en ejecución tras el resultado");
+    }
+}
@@ -0,0 +1,166 @@
+package org.pinapp.notification.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.FairSchedulingConfig;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.api.record.TenantPolicy;
+import org.pinapp.notification.core.limit.AimdLimit;
+import org.pinapp.notification.providers.simulated.LatencyModel;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del reparto equitativo de capacidad entre tenants.
+ * <p>
+ * Simula un tenant que inunda el servicio con una campaña masiva y verifica que un tenant pequeño
+ * mantiene una latencia acotada, que los límites de cola se respetan y que la prioridad sigue
+ * ordenando las notificaciones dentro de cada tenant.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class TenantFairSchedulerTest {
+
+    /** Proveedor con latencia fija de 20 ms por envío. */
+    private final SimulatedProvider provider = new SimulatedProvider("SimSms",
+            SimulationProfile.healthy(ChannelType.SMS).withLatency(LatencyModel.fixed(Duration.ofMillis(20))));
+
+    private static SmsData sms(String tenant, int index, NotificationPriority priority) {
+        return new SmsData("+5491100000000", "+54911" + String.format("%08d", index), "Mensaje " + index,
+                null, priority, tenant);
+    }
+
+    /**
+     * Con 4 envíos simultáneos y 500 notificaciones encoladas por la campaña, un tenant pequeño sin
+     * planificación esperaría unos 2,5 s; con deficit round-robin debe completarse en una fracción.
+     */
+    @Test
+    @DisplayName("Un tenant pequeño debe tener latencia acotada mientras otro inunda el servicio")
+    void smallTenantShouldHaveBoundedLatencyDuringFlood() {
+        NotificationService service = new NotificationService(new RetryConfig(1, 10), FairSchedulingConfig.of(4));
+        service.registerProvider(provider);
+
+        List<CompletableFuture<NotificationResult>> bulk = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            bulk.add(service.sendAsync(ChannelType.SMS, sms("marketing", i, NotificationPriority.MEDIUM)));
+        }
+        List<CompletableFuture<NotificationResult>> small = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            small.add(service.sendAsync(ChannelType.SMS, sms("payments", i, NotificationPriority.MEDIUM)));
+        }
+
+        Duration worstSmall = small.stream()
+                .map(CompletableFuture::join)
+                .peek(r -> assertEquals(NotificationStatus.SENT, r.status()))
+                .map(NotificationResult::elapsed)
+                .max(Duration::compareTo)
+                .orElseThrow();
+        long bulkPendingWhenSmallDone = bulk.stream().filter(f -> !f.isDone()).count();
+
+        assertTrue(worstSmall.compareTo(Duration.ofMillis(800)) < 0, "Latencia del tenant pequeño: " + worstSmall);
+        assertTrue(bulkPendingWhenSmallDone > 250, "La campaña no debería haber avanzado tanto: " + bulkPendingWhenSmallDone);
+        bulk.forEach(f -> assertEquals(NotificationStatus.SENT, f.join().status()));
+    }
+
+    /**
+     * Las notificaciones que exceden la cola del tenant deben rechazarse de inmediato sin afectar a otros tenants.
+     */
+    @Test
+    @DisplayName("Debe rechazar las notificaciones que exceden la cola del tenant")
+    void shouldRejectWhenTenantQueueIsFull() {
+        NotificationService service = new NotificationService(new RetryConfig(1, 10), FairSchedulingConfig.of(1));
+        service.registerProvider(provider);
+        service.registerTenant("marketing", new TenantPolicy(1, 1, 5));
+
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(service.sendAsync(ChannelType.SMS, sms("marketing", i, NotificationPriority.LOW)));
+        }
+        NotificationResult other = service.sendAsync(ChannelType.SMS, sms("payments", 0, NotificationPriority.LOW)).join();
+
+        long rejected = results.stream().map(CompletableFuture::join)
+                .filter(r -> r.status() == NotificationStatus.REJECTED).count();
+        // Uno en curso + cinco en cola; el resto se rechaza.
+        assertEquals(4, rejected);
+        assertEquals(NotificationStatus.SENT, other.status());
+    }
+
+    /**
+     * Las notificaciones que esperan capacidad en un proveedor saturado no deben ocupar lugares de despacho:
+     * los emails del mismo tenant y de otros tenants deben salir mientras la cola de SMS se drena de a uno.
+     */
+    @Test
+    @DisplayName("Un proveedor saturado no debe retener la concurrencia de los demás canales")
+    void saturatedProviderShouldNotHoldDispatchSlots() {
+        NotificationService service = new NotificationService(new RetryConfig(1, 10), FairSchedulingConfig.of(4));
+        service.registerProvider(new SimulatedProvider("SlowSms", SimulationProfile.healthy(ChannelType.SMS)
+                        .withLatency(LatencyModel.fixed(Duration.ofMillis(100)))),
+                new AimdLimit(1, 1, 1, 0.5, Duration.ofSeconds(1)));
+        service.registerProvider(new SimulatedProvider("SimEmail", SimulationProfile.healthy(ChannelType.EMAIL)
+                .withLatency(LatencyModel.fixed(Duration.ofMillis(5)))));
+
+        List<CompletableFuture<NotificationResult>> sms = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sms.add(service.sendAsync(ChannelType.SMS, sms("ops", i, NotificationPriority.MEDIUM)));
+        }
+        List<CompletableFuture<NotificationResult>> emails = new ArrayList<>();
+        for (String tenant : List.of("ops", "ops", "payments")) {
+            emails.add(service.sendAsync(ChannelType.EMAIL, new EmailData("no-reply@pinapp.com", "user@pinapp.com",
+                    "Aviso", "Contenido", null, NotificationPriority.MEDIUM, tenant)));
+        }
+
+        Duration worstEmail = emails.stream()
+                .map(CompletableFuture::join)
+                .peek(r -> assertEquals(NotificationStatus.SENT, r.status()))
+                .map(NotificationResult::elapsed)
+                .max(Duration::compareTo)
+                .orElseThrow();
+
+        assertTrue(worstEmail.compareTo(Duration.ofMillis(500)) < 0, "Latencia de los emails: " + worstEmail);
+        assertTrue(sms.stream().filter(f -> !f.isDone()).count() > 10, "Los SMS no deberían haber avanzado tanto");
+        sms.forEach(f -> assertEquals(NotificationStatus.SENT, f.join().status()));
+    }
+
+    /**
+     * Dentro de un mismo tenant, las notificaciones urgentes deben adelantarse a las ya encoladas.
+     */
+    @Test
+    @DisplayName("Debe respetar la prioridad dentro de la cola de un tenant")
+    void shouldOrderByPriorityWithinTenant() {
+        NotificationService service = new NotificationService(new RetryConfig(1, 10), FairSchedulingConfig.of(1));
+        ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+        service.registerProvider(new SimulatedProvider("Ordered", SimulationProfile.healthy(ChannelType.SMS)
+                .withLatency(LatencyModel.fixed(Duration.ofMillis(20)))) {
+            @Override
+            public void send(NotificationData notification) {
+                super.send(notification);
+                order.add(notification.body());
+            }
+        });
+
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(service.sendAsync(ChannelType.SMS, sms("ops", i, NotificationPriority.LOW)));
+        }
+        results.add(service.sendAsync(ChannelType.SMS, sms("ops", 99, NotificationPriority.URGENT)));
+        results.forEach(CompletableFuture::join);
+
+        // El primero ya estaba en curso; el urgente debe ser el siguiente.
+        assertEquals("Mensaje 99", order.stream().skip(1).findFirst().orElseThrow());
+    }
+}
@@ -0,0 +1,374 @@
+package org.pinapp.notification.core.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.payload.PayloadRef;
+import org.pinapp.notification.api.payload.PayloadStore;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.FairSchedulingConfig;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.api.record.TenantPolicy;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.providers.simulated.LatencyModel;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la cola particionada: formato de los registros, reparto de particiones entre nodos y
+ * toma de particiones tras la caída de un nodo en otro proceso.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class PartitionedQueueTest {
+
+    private static final int PARTITIONS = 4;
+
+    private static SmsData sms(String body, int recipient) {
+        return new SmsData("+5491100000000", "+54911" + (20_000_000 + recipient), body, null, NotificationPriority.MEDIUM);
+    }
+
+    /**
+     * Un registro debe decodificarse igual a como se escribió; un payload compartido debe quedar materializado en el cuerpo.
+     */
+    @Test
+    @DisplayName("Debe serializar notificaciones materializando los payloads compartidos")
+    void codecShouldRoundTripAndMaterializePayloads() {
+        PayloadRef html = PayloadStore.offHeap().intern("<p>Oferta ñandú</p>");
+        EmailData email = EmailData.withPayload("news@pinapp.com", "user@pinapp.com", "Campaña", html,
+                NotificationPriority.LOW, "marketing");
+
+        ByteBuffer frame = NotificationCodec.encode(new QueuedNotification("id-1", ChannelType.EMAIL, email));
+        assertTrue(NotificationCodec.checksumMatches(frame, frame.getInt(0)));
+        QueuedNotification decoded = NotificationCodec.decode(frame.position(NotificationCodec.HEADER_BYTES).slice());
+
+        assertEquals("id-1", decoded.id());
+        assertEquals(ChannelType.EMAIL, decoded.channel());
+        EmailData copy = (EmailData) decoded.data();
+        assertEquals("<p>Oferta ñandú</p>", copy.body());
+        assertNull(copy.payload());
+        assertEquals(email.subject(), copy.subject());
+        assertEquals(email.createdAt(), copy.createdAt());
+        assertEquals(email.tenant(), copy.tenant());
+        html.release();
+    }
+
+    /**
+     * Encolar copia el payload compartido al log, por lo que la referencia de la notificación debe liberarse.
+     */
+    @Test
+    @DisplayName("Debe liberar el payload compartido al encolar")
+    void enqueueShouldReleaseSharedPayloads(@TempDir Path dir) throws IOException {
+        PayloadStore store = PayloadStore.offHeap();
+        PayloadRef html = store.intern("<p>Oferta</p>");
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, PARTITIONS)) {
+            for (int i = 0; i < 3; i++) {
+                html.retain();
+                queue.enqueue(ChannelType.EMAIL, EmailData.withPayload("news@pinapp.com", "user" + i + "@pinapp.com",
+                        "Campaña", html, NotificationPriority.LOW, "marketing"));
+            }
+            html.release();
+            assertEquals(0, store.size());
+        }
+    }
+
+    /**
+     * Un registro íntegro pero ilegible (otra versión del formato) debe descartarse sin detener la partición:
+     * los registros siguientes se entregan igual.
+     */
+    @Test
+    @DisplayName("Debe descartar un registro ilegible y seguir entregando los siguientes")
+    void shouldSkipUndecodableRecords(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, PARTITIONS)) {
+            SmsData first = sms("Primero", 7);
+            queue.enqueue(ChannelType.SMS, first);
+            ByteBuffer unknown = NotificationCodec.encode(new QueuedNotification("id-x", ChannelType.SMS, sms("Futuro", 7)));
+            unknown.put(NotificationCodec.HEADER_BYTES, (byte) 99);
+            append(queue, queue.partitionFor(first), withChecksum(unknown));
+            for (int i = 0; i < 10; i++) {
+                queue.enqueue(ChannelType.SMS, sms("Mensaje " + i, 7));
+            }
+
+            NotificationService service = new NotificationService(new RetryConfig(1, 10));
+            service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)));
+            try (QueueWorker worker = new QueueWorker("node-a", queue, service, QueueWorkerProcess.CONFIG)) {
+                worker.start();
+                await().atMost(Duration.ofSeconds(10)).until(() -> worker.dispatched() == 11);
+
+                // Un lote formado solo por registros descartados también debe confirmarse.
+                int partition = queue.partitionFor(first);
+                append(queue, partition, withChecksum(unknown.clear()));
+                long end = Files.size(queue.segmentFile(partition, 0));
+                await().atMost(Duration.ofSeconds(10)).until(() -> queue.lease(partition).committedOffset() == end);
+                assertEquals(11, worker.dispatched());
+            }
+        }
+    }
+
+    /**
+     * Una longitud fuera de rango no debe detener la partición: el lector busca el siguiente registro válido.
+     */
+    @Test
+    @DisplayName("Debe retomar la lectura después de un registro con longitud inválida")
+    void shouldResyncAfterInvalidLength(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, 1)) {
+            queue.enqueue(new QueuedNotification("id-1", ChannelType.SMS, sms("Uno", 1)));
+            ByteBuffer damaged = NotificationCodec.encode(new QueuedNotification("id-2", ChannelType.SMS, sms("Dos", 1)));
+            append(queue, 0, damaged.putInt(0, -17));
+            queue.enqueue(new QueuedNotification("id-3", ChannelType.SMS, sms("Tres", 1)));
+
+            assertEquals(List.of("id-1", "id-3"), readAll(queue));
+        }
+    }
+
+    /**
+     * Un productor que muere a mitad de un registro deja una longitud que no corresponde con lo escrito:
+     * saltarla caería en medio del registro siguiente. El lector debe encontrar el siguiente registro íntegro.
+     */
+    @Test
+    @DisplayName("Debe retomar la lectura después de un registro cortado por un productor caído")
+    void shouldResyncAfterTornRecord(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, 1)) {
+            queue.enqueue(new QueuedNotification("id-1", ChannelType.SMS, sms("Uno", 1)));
+            ByteBuffer torn = NotificationCodec.encode(new QueuedNotification("id-2", ChannelType.SMS, sms("Dos", 1)));
+            append(queue, 0, torn.limit(torn.capacity() / 2));
+
+            // Mientras nada lo siga, un registro incompleto es indistinguible de uno en curso: se espera.
+            assertEquals(List.of("id-1"), readAll(queue));
+
+            queue.enqueue(new QueuedNotification("id-3", ChannelType.SMS, sms("Tres", 1)));
+            queue.enqueue(new QueuedNotification("id-4", ChannelType.SMS, sms("Cuatro", 1)));
+            assertEquals(List.of("id-1", "id-3", "id-4"), readAll(queue));
+        }
+    }
+
+    /**
+     * Un segmento con sucesor ya no recibe escrituras: un registro incompleto a su final es el de un productor
+     * caído y la lectura debe seguir en el segmento siguiente.
+     */
+    @Test
+    @DisplayName("Debe pasar al segmento siguiente aunque el anterior termine en un registro cortado")
+    void shouldSkipTornTailOfSealedSegment(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, 1, 1)) {
+            queue.enqueue(new QueuedNotification("id-1", ChannelType.SMS, sms("Uno", 1)));
+            ByteBuffer torn = NotificationCodec.encode(new QueuedNotification("id-2", ChannelType.SMS, sms("Dos", 1)));
+            append(queue, 0, torn.limit(torn.capacity() / 2));
+            queue.enqueue(new QueuedNotification("id-3", ChannelType.SMS, sms("Tres", 1)));
+
+            List<String> ids = new ArrayList<>();
+            try (PartitionReader reader = queue.openReader(0)) {
+                long offset = 0;
+                for (int i = 0; i < 5; i++) {
+                    PartitionedQueue.Batch batch = reader.read(offset, 10);
+                    batch.notifications().forEach(notification -> ids.add(notification.id()));
+                    offset = batch.nextOffset();
+                }
+            }
+            assertEquals(List.of("id-1", "id-3"), ids);
+        }
+    }
+
+    /**
+     * Al confirmar, los segmentos consumidos por completo deben borrarse: el disco solo retiene lo pendiente.
+     */
+    @Test
+    @DisplayName("Debe borrar los segmentos ya confirmados")
+    void shouldDeleteCommittedSegments(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, 1, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                queue.enqueue(new QueuedNotification("id-" + i, ChannelType.SMS, sms("Mensaje " + i, i)));
+            }
+            assertTrue(queue.segments(0).size() > 5);
+
+            NotificationService service = new NotificationService(new RetryConfig(1, 10));
+            service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)));
+            try (QueueWorker worker = new QueueWorker("node-a", queue, service, QueueWorkerProcess.CONFIG)) {
+                worker.start();
+                await().atMost(Duration.ofSeconds(10)).until(() -> worker.dispatched() == 100);
+                await().atMost(Duration.ofSeconds(5)).until(() -> queue.segments(0).size() == 1);
+            }
+        }
+    }
+
+    /**
+     * Con una cola de tenant más chica que el lote, el servicio rechaza parte de cada lote por falta de capacidad:
+     * esas notificaciones no deben confirmarse, sino reenviarse hasta que todas se entreguen.
+     */
+    @Test
+    @DisplayName("Debe reintentar las notificaciones rechazadas por la cola del tenant en lugar de confirmarlas")
+    void shouldRetryRecordsRejectedByTenantQueue(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, 1)) {
+            for (int i = 0; i < 100; i++) {
+                queue.enqueue(new QueuedNotification("id-" + i, ChannelType.SMS, sms("Mensaje " + i, i)));
+            }
+
+            Set<String> delivered = ConcurrentHashMap.newKeySet();
+            NotificationService service = new NotificationService(new RetryConfig(1, 10),
+                    new FairSchedulingConfig(1, new TenantPolicy(1, 1, 2)));
+            service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)
+                    .withLatency(LatencyModel.fixed(Duration.ofMillis(2)))) {
+                @Override
+                public void send(NotificationData notification) {
+                    super.send(notification);
+                    delivered.add(notification.body());
+                }
+            });
+            try (QueueWorker worker = new QueueWorker("node-a", queue, service, QueueWorkerProcess.CONFIG)) {
+                worker.start();
+                await().atMost(Duration.ofSeconds(20)).until(() -> worker.dispatched() == 100);
+            }
+            assertEquals(100, delivered.size());
+        }
+    }
+
+    /**
+     * Un segundo nodo debe recibir la mitad de las particiones y, entre ambos, despachar todo lo encolado.
+     */
+    @Test
+    @DisplayName("Debe repartir las particiones entre los nodos vivos")
+    void shouldRebalancePartitionsAcrossNodes(@TempDir Path dir) throws IOException {
+        try (PartitionedQueue queue = PartitionedQueue.open(dir, PARTITIONS)) {
+            NotificationService service = new NotificationService(new RetryConfig(1, 10));
+            service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)));
+
+            try (QueueWorker first = new QueueWorker("node-a", queue, service, QueueWorkerProcess.CONFIG);
+                 QueueWorker second = new QueueWorker("node-b", queue, service, QueueWorkerProcess.CONFIG)) {
+                first.start();
+                await().atMost(Duration.ofSeconds(5)).until(() -> first.ownedPartitions().size() == PARTITIONS);
+
+                second.start();
+                await().atMost(Duration.ofSeconds(10)).until(() ->
+                        first.ownedPartitions().size() == PARTITIONS / 2 && second.ownedPartitions().size() == PARTITIONS / 2);
+
+                for (int i = 0; i < 200; i++) {
+                    queue.enqueue(ChannelType.SMS, sms("Mensaje " + i, i));
+                }
+                await().atMost(Duration.ofSeconds(10)).until(() -> first.dispatched() + second.dispatched() == 200);
+                assertTrue(first.dispatched() > 0 && second.dispatched() > 0);
+            }
+        }
+    }
+
+    /**
+     * Con dos nodos en procesos separados, matar a uno a mitad del flujo no debe perder notificaciones:
+     * el otro toma sus particiones al vencer los leases y reanuda desde el último offset confirmado.
+     */
+    @Test
+    @DisplayName("Debe entregar todas las notificaciones aunque un nodo muera a mitad del flujo")
+    void shouldDeliverEverythingWhenAnOwnerIsKilled(@TempDir Path dir) throws Exception {
+        int total = 1_200;
+        Path outA = dir.resolve("node-a.out");
+        Path outB = dir.resolve("node-b.out");
+        Path queueDir = dir.resolve("queue");
+
+        try (PartitionedQueue queue = PartitionedQueue.open(queueDir, PARTITIONS)) {
+            Process nodeA = spawn(queueDir, "node-a", outA, dir);
+            Process nodeB = spawn(queueDir, "node-b", outB, dir);
+            try {
+                for (int i = 0; i < total; i++) {
+                    queue.enqueue(new QueuedNotification("id-" + i, ChannelType.SMS, sms("id-" + i, i)));
+                    if (i == total / 3) {
+                        await().atMost(Duration.ofSeconds(30)).until(() -> lines(outA).size() > 50);
+                        nodeA.destroyForcibly().waitFor();
+                    }
+                    if (i % 100 == 0) {
+                        Thread.sleep(20);
+                    }
+                }
+
+                await().atMost(Duration.ofSeconds(60)).until(() -> delivered(outA, outB).size() == total);
+            } finally {
+                nodeA.destroyForcibly();
+                nodeB.destroyForcibly();
+            }
+        }
+
+        Set<String> delivered = delivered(outA, outB);
+        for (int i = 0; i < total; i++) {
+            assertTrue(delivered.contains("id-" + i), "No se entregó id-" + i);
+        }
+    }
+
+    /** Lee el primer segmento de la partición 0 desde el inicio con un buffer chico, para cruzar varios límites de lectura. */
+    private static List<String> readAll(PartitionedQueue queue) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (FileChannel segment = FileChannel.open(queue.segmentFile(0, 0))) {
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            long offset = 0;
+            for (int i = 0; i < 100; i++) {
+                PartitionedQueue.Batch batch = PartitionedQueue.read(segment, buffer, offset, 10);
+                batch.notifications().forEach(notification -> ids.add(notification.id()));
+                buffer = batch.buffer();
+                offset = batch.nextOffset();
+            }
+        }
+        return ids;
+    }
+
+    /** Recalcula el CRC de un frame modificado, como si lo hubiera escrito un productor. */
+    private static ByteBuffer withChecksum(ByteBuffer frame) {
+        CRC32C crc = new CRC32C();
+        crc.update(frame.slice(NotificationCodec.HEADER_BYTES, frame.capacity() - NotificationCodec.HEADER_BYTES));
+        return frame.putInt(4, (int) crc.getValue());
+    }
+
+    /** Agrega bytes crudos al final del primer segmento de una partición. */
+    private static void append(PartitionedQueue queue, int partition, ByteBuffer bytes) throws IOException {
+        try (FileChannel log = FileChannel.open(queue.segmentFile(partition, 0),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                log.write(bytes);
+            }
+        }
+    }
+
+    private static Process spawn(Path queueDir, String node, Path output, Path logDir) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                QueueWorkerProcess.class.getName(), queueDir.toString(), String.valueOf(PARTITIONS), node, output.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(node + ".log").toFile())
+                .start();
+    }
+
+    private static Set<String> delivered(Path... outputs) throws IOException {
+        Set<String> ids = new HashSet<>();
+        for (Path output : outputs) {
+            ids.addAll(lines(output));
+        }
+        return ids;
+    }
+
+    private static List<String> lines(Path output) throws IOException {
+        if (!Files.exists(output)) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>(Files.readAllLines(output));
+        // Una línea final sin salto puede estar a medio escribir.
+        if (!Files.readString(output).endsWith("\n") && !lines.isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+}
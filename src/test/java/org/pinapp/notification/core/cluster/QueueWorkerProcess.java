@@ -0,0 +1,68 @@
+package org.pinapp.notification.core.cluster;
+
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.QueueConfig;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.core.NotificationService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Nodo de prueba lanzado como proceso independiente por {@link PartitionedQueueTest}.
+ * <p>
+ * Registra un proveedor que agrega el cuerpo de cada notificación (su id) a un archivo de salida, y consume la
+ * cola hasta que el proceso es terminado.
+ * </p>
+ * <pre>
+ * java -cp ... QueueWorkerProcess &lt;directorio&gt; &lt;particiones&gt; &lt;nodo&gt; &lt;salida&gt;
+ * </pre>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+public class QueueWorkerProcess {
+
+    static final QueueConfig CONFIG = new QueueConfig(16, Duration.ofMillis(1500), Duration.ofMillis(200), Duration.ofMillis(10));
+
+    public static void main(String[] args) throws Exception {
+        PartitionedQueue queue = PartitionedQueue.open(Path.of(args[0]), Integer.parseInt(args[1]));
+        FileChannel output = FileChannel.open(Path.of(args[3]),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        NotificationService service = new NotificationService(new RetryConfig(1, 10));
+        service.registerProvider(new NotificationProvider() {
+            @Override
+            public void send(NotificationData notification) {
+                try {
+                    Thread.sleep(2);
+                    output.write(ByteBuffer.wrap((notification.body() + "\n").getBytes(StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public boolean supports(ChannelType type) {
+                return true;
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Recorder";
+            }
+        });
+
+        new QueueWorker(args[2], queue, service, CONFIG).start();
+        Thread.sleep(Long.MAX_VALUE);
+    }
+}
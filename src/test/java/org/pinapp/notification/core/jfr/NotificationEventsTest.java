@@ -0,0 +1,105 @@
+package org.pinapp.notification.core.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.core.NotificationService;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica los eventos de JDK Flight Recorder emitidos durante el despacho, leyendo la grabación resultante.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class NotificationEventsTest {
+
+    private static final int DELIVERED = 10;
+    private static final int UNDELIVERABLE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** Proveedor que rechaza siempre a los destinatarios de {@code rebote.com}. */
+    private static final class BouncingProvider implements NotificationProvider {
+        @Override
+        public void send(NotificationData notification) {
+            if (notification.to().endsWith("@rebote.com")) {
+                throw new IllegalStateException("Buzón inexistente: " + notification.to());
+            }
+        }
+
+        @Override
+        public boolean supports(ChannelType type) {
+            return type == ChannelType.EMAIL;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "BouncingEmail";
+        }
+    }
+
+    /**
+     * Cada notificación debe producir un evento de encolado y uno de espera; cada intento, uno de intento;
+     * cada reintento, uno de backoff; y cada notificación no entregada, uno de agotamiento.
+     */
+    @Test
+    @DisplayName("Debe registrar encolado, espera, intentos, backoff y agotamiento en la grabación")
+    void shouldRecordDispatchEvents(@TempDir Path dir) throws Exception {
+        NotificationService service = new NotificationService(new RetryConfig(MAX_ATTEMPTS, 1));
+        service.registerProvider(new BouncingProvider());
+
+        Path file = dir.resolve("notifications.jfr");
+        try (Recording recording = new Recording()) {
+            List.of(NotificationEnqueuedEvent.NAME, QueueWaitEvent.NAME, ProviderAttemptEvent.NAME,
+                    BackoffEvent.NAME, NotificationExhaustedEvent.NAME).forEach(recording::enable);
+            recording.start();
+
+            List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+            for (int i = 0; i < DELIVERED + UNDELIVERABLE; i++) {
+                String to = (i < DELIVERED) ? "user" + i + "@pinapp.com" : "user" + i + "@rebote.com";
+                results.add(service.sendAsync(ChannelType.EMAIL, new EmailData("news@pinapp.com", to, "Novedades",
+                        "Contenido", null, NotificationPriority.HIGH, "marketing")));
+            }
+            results.forEach(CompletableFuture::join);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<String, Long> counts = events.stream()
+                .collect(Collectors.groupingBy(e -> e.getEventType().getName(), Collectors.counting()));
+
+        int notifications = DELIVERED + UNDELIVERABLE;
+        assertEquals(notifications, counts.get(NotificationEnqueuedEvent.NAME));
+        assertEquals(notifications, counts.get(QueueWaitEvent.NAME));
+        assertEquals(DELIVERED + UNDELIVERABLE * MAX_ATTEMPTS, counts.get(ProviderAttemptEvent.NAME));
+        assertEquals(UNDELIVERABLE * (MAX_ATTEMPTS - 1), counts.get(BackoffEvent.NAME));
+        assertEquals(UNDELIVERABLE, counts.get(NotificationExhaustedEvent.NAME));
+
+        RecordedEvent failed = events.stream()
+                .filter(e -> e.getEventType().getName().equals(ProviderAttemptEvent.NAME))
+                .filter(e -> e.getInt("attempt") == MAX_ATTEMPTS)
+                .findFirst().orElseThrow();
+        assertEquals("BouncingEmail", failed.getString("provider"));
+        assertEquals("EMAIL", failed.getString("channel"));
+        assertEquals("HIGH", failed.getString("priority"));
+        assertEquals("FAILED", failed.getString("outcome"));
+    }
+}
@@ -0,0 +1,175 @@
+package org.pinapp.notification.core.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationProvider;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.core.NotificationService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulación de un proveedor con un punto de saturación ("knee"): hasta {@link #KNEE} envíos
+ * simultáneos responde en {@link #BASE_LATENCY_MS}; por encima, su latencia crece en proporción
+ * a la concurrencia, como un proveedor que empieza a encolar.
+ * <p>
+ * Se verifica que ambos algoritmos converjan cerca del punto de saturación y que el exceso de
+ * envíos espere en el servicio en lugar de acumularse en el proveedor.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final int KNEE = 16;
+    private static final long BASE_LATENCY_MS = 10;
+    private static final int NOTIFICATIONS = 2_000;
+
+    /**
+     * Proveedor cuya latencia depende de los envíos simultáneos que recibe.
+     */
+    private static final class SaturatingProvider implements NotificationProvider {
+        private final ConcurrencyLimit limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        /** Límite observado con la cola aún llena (al 75% de la carga), antes de que se vacíe. */
+        private volatile int steadyLimit;
+
+        SaturatingProvider(ConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void send(NotificationData notification) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(BASE_LATENCY_MS * Math.max(KNEE, current) / KNEE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                if (completed.incrementAndGet() == NOTIFICATIONS * 3 / 4) {
+                    steadyLimit = limit.limit();
+                }
+            }
+        }
+
+        @Override
+        public boolean supports(ChannelType type) {
+            return type == ChannelType.SMS;
+        }
+
+        @Override
+        public String getProviderName() {
+            return "SaturatingSms";
+        }
+    }
+
+    private static SaturatingProvider runLoad(ConcurrencyLimit limit) {
+        NotificationService service = new NotificationService(new RetryConfig(1, 10));
+        SaturatingProvider provider = new SaturatingProvider(limit);
+        service.registerProvider(provider, limit);
+
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>(NOTIFICATIONS);
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            results.add(service.sendAsync(ChannelType.SMS, new SmsData("+5491100000000", "+54911" + (10_000_000 + i),
+                    "Código de verificación: 1234", null, NotificationPriority.MEDIUM)));
+        }
+        results.forEach(r -> assertEquals(NotificationStatus.SENT, r.join().status()));
+        return provider;
+    }
+
+    /**
+     * AIMD con un umbral de latencia 1,5 veces la base debe estabilizarse apenas por encima del knee.
+     */
+    @Test
+    @DisplayName("AIMD debe converger cerca del punto de saturación del proveedor")
+    void aimdShouldConvergeNearKnee() {
+        AimdLimit limit = new AimdLimit(4, 1, 500, 0.9, Duration.ofMillis(BASE_LATENCY_MS * 3 / 2));
+
+        SaturatingProvider provider = runLoad(limit);
+
+        int steady = provider.steadyLimit;
+        assertTrue(steady >= KNEE / 2 && steady <= KNEE * 2, "Límite bajo carga: " + steady);
+        assertTrue(provider.maxInFlight.get() <= KNEE * 3,
+                "El proveedor recibió " + provider.maxInFlight.get() + " envíos simultáneos");
+    }
+
+    /**
+     * El gradiente de latencia debe detectar el knee sin conocer un umbral de antemano.
+     */
+    @Test
+    @DisplayName("El gradiente debe converger cerca del punto de saturación del proveedor")
+    void gradientShouldConvergeNearKnee() {
+        GradientLimit limit = new GradientLimit(4, 1, 500, 1.2, 0.2);
+
+        SaturatingProvider provider = runLoad(limit);
+
+        int steady = provider.steadyLimit;
+        assertTrue(steady >= KNEE / 2 && steady <= KNEE * 2, "Límite bajo carga: " + steady);
+        assertTrue(provider.maxInFlight.get() <= KNEE * 3,
+                "El proveedor recibió " + provider.maxInFlight.get() + " envíos simultáneos");
+    }
+
+    /**
+     * Ante errores sucesivos, el límite debe reducirse hasta el mínimo configurado.
+     */
+    @Test
+    @DisplayName("Los errores deben reducir el límite")
+    void dropsShouldShrinkLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(GradientLimit.defaultLimit());
+        for (int i = 0; i < 20; i++) {
+            limiter.release(limiter.acquire(), true);
+        }
+        assertEquals(1, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    /**
+     * Los errores de los envíos admitidos en una misma ventana deben reducir el límite una sola vez,
+     * no una vez por envío: un envío admitido con más envíos en curso que el límite ya reducido pertenece
+     * a la ventana anterior, mientras que uno admitido por debajo de él abre una ventana nueva.
+     */
+    @Test
+    @DisplayName("Una ráfaga de errores de una misma ventana debe reducir el límite una sola vez")
+    void dropsFromOneWindowShouldShrinkLimitOnce() {
+        List<ConcurrencyLimit> limits = List.of(
+                new AimdLimit(100, 1, 1000, 0.5, Duration.ofMillis(BASE_LATENCY_MS)),
+                new GradientLimit(100, 1, 1000, 1.2, 0.2));
+        for (ConcurrencyLimit limit : limits) {
+            String name = limit.getClass().getSimpleName();
+            long rtt = Duration.ofMillis(BASE_LATENCY_MS).toNanos();
+            // Envíos admitidos con entre 51 y 100 en curso: todos pertenecen a la primera ventana.
+            for (int i = 0; i < 100; i++) {
+                limit.onSample(rtt, 100 - i % 50, true);
+            }
+            assertEquals(50, limit.limit(), name);
+
+            // Un envío admitido después del recorte abre una ventana nueva y la recorta otra vez.
+            limit.onSample(rtt, 40, true);
+            assertEquals(25, limit.limit(), name);
+
+            // Los envíos que siguen en curso desde ventanas anteriores ya no recortan.
+            for (int inFlight : new int[]{100, 60, 40, 26, 51, 33}) {
+                limit.onSample(rtt, inFlight, true);
+            }
+            assertEquals(25, limit.limit(), name);
+
+            limit.onSample(rtt, 20, true);
+            assertEquals(12, limit.limit(), name);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.pinapp.notification.core.suppression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del índice de supresión mapeado en memoria y de su integración con el servicio.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class MappedSuppressionIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeSource(List<String> recipients) throws IOException {
+        Path source = tempDir.resolve("suppressed.txt");
+        Files.write(source, recipients);
+        return source;
+    }
+
+    /**
+     * El índice reconstruido desde archivo debe reconocer todas las entradas (sin distinguir
+     * mayúsculas ni espacios) y no reportar destinatarios ausentes, con y sin filtro de Bloom.
+     */
+    @Test
+    @DisplayName("Debe reconocer los destinatarios del archivo fuente")
+    void shouldFindRecipientsFromSource() throws IOException {
+        List<String> recipients = IntStream.range(0, 10_000).mapToObj(i -> "user" + i + "@pinapp.com").toList();
+        Path source = writeSource(recipients);
+
+        for (boolean bloom : new boolean[]{false, true}) {
+            MappedSuppressionIndex index = MappedSuppressionIndex.build(source, tempDir.resolve("index-" + bloom + ".bin"), bloom);
+
+            assertEquals(10_000, index.size());
+            recipients.forEach(r -> assertTrue(index.isSuppressed(r), r));
+            assertTrue(index.isSuppressed("  USER42@PinApp.com "));
+            IntStream.range(10_000, 20_000).forEach(i -> assertFalse(index.isSuppressed("user" + i + "@pinapp.com")));
+        }
+    }
+
+    /**
+     * Una fuente que no entra en un tramo debe ordenarse por tramos en disco y fusionarse en el mismo
+     * índice, sin duplicados entre tramos y sin dejar temporales junto al archivo.
+     */
+    @Test
+    @DisplayName("Debe reconstruir por tramos una fuente mayor que el tramo en memoria")
+    void shouldBuildFromSortedRunsWhenSourceExceedsChunk() throws IOException {
+        List<String> recipients = IntStream.range(0, 10_000).mapToObj(i -> "user" + (i % 7_000) + "@pinapp.com").toList();
+        Path dir = Files.createDirectory(tempDir.resolve("runs"));
+        Path source = writeSource(recipients);
+
+        MappedSuppressionIndex index = MappedSuppressionIndex.build(source, dir.resolve("index.bin"), true, 1_000);
+
+        assertEquals(7_000, index.size());
+        recipients.forEach(r -> assertTrue(index.isSuppressed(r), r));
+        IntStream.range(7_000, 14_000).forEach(i -> assertFalse(index.isSuppressed("user" + i + "@pinapp.com")));
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(dir.resolve("index.bin")), files.toList());
+        }
+    }
+
+    /**
+     * Las altas y bajas deben ser visibles de inmediato y persistirse al compactar y reabrir el índice.
+     */
+    @Test
+    @DisplayName("Debe aplicar altas y bajas incrementales y persistirlas al compactar")
+    void shouldApplyIncrementalChangesAndPersistOnCompact() throws IOException {
+        Path indexFile = tempDir.resolve("index.bin");
+        MappedSuppressionIndex index = MappedSuppressionIndex.build(
+                writeSource(List.of("bounced@pinapp.com", "+5491122223333")), indexFile, true);
+
+        index.add("blocked@pinapp.com");
+        index.remove("+5491122223333");
+        assertTrue(index.isSuppressed("blocked@pinapp.com"));
+        assertFalse(index.isSuppressed("+5491122223333"));
+        assertEquals(2, index.size());
+
+        index.compact();
+        MappedSuppressionIndex reopened = MappedSuppressionIndex.open(indexFile, false);
+
+        assertEquals(2, reopened.size());
+        assertTrue(reopened.isSuppressed("bounced@pinapp.com"));
+        assertTrue(reopened.isSuppressed("blocked@pinapp.com"));
+        assertFalse(reopened.isSuppressed("+5491122223333"));
+    }
+
+    /**
+     * El servicio no debe invocar al proveedor para destinatarios suprimidos.
+     */
+    @Test
+    @DisplayName("El servicio debe omitir el envío a destinatarios suprimidos")
+    void serviceShouldSkipSuppressedRecipients() throws IOException {
+        MappedSuppressionIndex index = MappedSuppressionIndex.build(
+                writeSource(List.of("unsubscribed@pinapp.com")), tempDir.resolve("index.bin"), true);
+        SimulatedProvider provider = new SimulatedProvider("SimEmail", SimulationProfile.healthy(ChannelType.EMAIL));
+        NotificationService service = new NotificationService(new RetryConfig(3, 10));
+        service.registerProvider(provider);
+        service.registerSuppressionList(index);
+
+        NotificationResult suppressed = service.sendAsync(ChannelType.EMAIL, new EmailData("news@pinapp.com",
+                "unsubscribed@pinapp.com", "Novedades", "Contenido", null, NotificationPriority.LOW)).join();
+        NotificationResult sent = service.sendAsync(ChannelType.EMAIL, new EmailData("news@pinapp.com",
+                "active@pinapp.com", "Novedades", "Contenido", null, NotificationPriority.LOW)).join();
+
+        assertEquals(NotificationStatus.SUPPRESSED, suppressed.status());
+        assertEquals(NotificationStatus.SENT, sent.status());
+        assertEquals(1, provider.stats().calls());
+    }
+
+    /**
+     * El servicio consulta la lista con el teléfono ya normalizado a E.164, por lo que las entradas cargadas con
+     * separadores o con el prefijo {@code 00} deben suprimir igual al destinatario, se escriba como se escriba.
+     */
+    @Test
+    @DisplayName("Debe suprimir teléfonos cargados en un formato distinto de E.164")
+    void serviceShouldSuppressPhonesWrittenInOtherFormats() throws IOException {
+        MappedSuppressionIndex index = MappedSuppressionIndex.build(
+                writeSource(List.of("+54 9 11 2222-3333", "0054 (911) 4444.5555")), tempDir.resolve("index.bin"), true);
+        index.add("  0054 9 11 6666-7777");
+        SimulatedProvider provider = new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS));
+        NotificationService service = new NotificationService(new RetryConfig(3, 10));
+        service.registerProvider(provider);
+        service.registerSuppressionList(index);
+
+        for (String to : List.of("+5491122223333", "+54 9 11 4444 5555", "0054-9-11-6666-7777")) {
+            NotificationResult result = service.sendAsync(ChannelType.SMS, new SmsData("+5491100000000", to,
+                    "Promoción", null, NotificationPriority.LOW)).join();
+            assertEquals(NotificationStatus.SUPPRESSED, result.status(), to);
+        }
+        NotificationResult sent = service.sendAsync(ChannelType.SMS, new SmsData("+5491100000000", "+5491188889999",
+                "Promoción", null, NotificationPriority.LOW)).join();
+
+        assertEquals(NotificationStatus.SENT, sent.status());
+        assertEquals(1, provider.stats().calls());
+        assertTrue(index.isSuppressed("+54 9 11 2222 3333"));
+    }
+}
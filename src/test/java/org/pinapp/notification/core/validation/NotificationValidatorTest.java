@@ -0,0 +1,141 @@
+package org.pinapp.notification.core.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.exceptions.ValidationArgumentException;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.PushNotificationData;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SlackData;
+import org.pinapp.notification.api.record.SmsData;
+import org.pinapp.notification.api.record.ValidationConfig;
+import org.pinapp.notification.core.NotificationService;
+import org.pinapp.notification.providers.simulated.SimulatedProvider;
+import org.pinapp.notification.providers.simulated.SimulationProfile;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la etapa de validación y normalización previa al despacho.
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class NotificationValidatorTest {
+
+    private final NotificationValidator validator = new NotificationValidator(1_000);
+
+    private static SmsData sms(String to) {
+        return new SmsData("PinApp", to, "Código: 1234", null, NotificationPriority.HIGH);
+    }
+
+    /**
+     * Los destinatarios deben normalizarse según su canal: dominio en minúsculas, teléfonos en E.164.
+     */
+    @Test
+    @DisplayName("Debe normalizar emails y teléfonos")
+    void shouldNormalizeRecipients() {
+        EmailData email = new EmailData("news@pinapp.com", "  Juan.Perez@PinApp.COM ", "Hola", "Cuerpo", null,
+                NotificationPriority.LOW);
+        assertEquals("Juan.Perez@pinapp.com", validator.validate(ChannelType.EMAIL, email).to());
+
+        assertEquals("+5491122223333", validator.validate(ChannelType.SMS, sms("+54 9 11 2222-3333")).to());
+        assertEquals("+5491122223333", validator.validate(ChannelType.SMS, sms("0054 (911) 2222.3333")).to());
+
+        SmsData normalized = sms("+5491122223333");
+        assertSame(normalized, validator.validate(ChannelType.SMS, normalized), "Sin cambios no debe copiarse");
+    }
+
+    /**
+     * Los destinatarios inválidos de cada canal, y los campos obligatorios faltantes, deben rechazarse.
+     */
+    @Test
+    @DisplayName("Debe rechazar destinatarios y campos inválidos")
+    void shouldRejectInvalidNotifications() {
+        assertInvalid(ChannelType.EMAIL, new EmailData("a@pinapp.com", "sin-arroba.com", "Asunto", "Cuerpo", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.EMAIL, new EmailData("a@pinapp.com", "doble..punto@pinapp.com", "Asunto", "Cuerpo", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.EMAIL, new EmailData("a@pinapp.com", "user@localhost", "Asunto", "Cuerpo", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.EMAIL, new EmailData("a@pinapp.com", "user@pinapp.com", " ", "Cuerpo", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.SMS, sms("1122223333"));
+        assertInvalid(ChannelType.SMS, sms("+54 11 CALL-NOW"));
+        assertInvalid(ChannelType.SMS, sms("+1234567"));
+        assertInvalid(ChannelType.SMS, new SmsData("PinApp", "+5491122223333", "Cuerpo", null, null));
+        assertInvalid(ChannelType.PUSH_NOTIFICATION, new PushNotificationData("app", "token corto", "Hola", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.PUSH_NOTIFICATION, new PushNotificationData("app", "fcm-token-0123456789abcdef<script>", "Hola", null, NotificationPriority.LOW));
+        assertInvalid(ChannelType.SLACK, new SlackData("bot", "http://hooks.slack.com/services/T0/B0/X", "Hola", null, NotificationPriority.LOW));
+    }
+
+    private void assertInvalid(ChannelType type, NotificationData notification) {
+        ValidationArgumentException error = assertThrows(ValidationArgumentException.class,
+                () -> validator.validate(type, notification), "Debió rechazarse: " + notification.to());
+        assertNotNull(error.getMessage());
+    }
+
+    /**
+     * Los destinatarios repetidos deben resolverse desde la caché, también los rechazados.
+     */
+    @Test
+    @DisplayName("Debe resolver destinatarios repetidos desde la caché")
+    void shouldCacheRepeatedRecipients() {
+        for (int i = 0; i < 100; i++) {
+            validator.validate(ChannelType.SMS, sms("+54 9 11 2222-" + (1000 + i % 10)));
+            assertThrows(ValidationArgumentException.class, () -> validator.validate(ChannelType.SMS, sms("local")));
+        }
+        NotificationValidator.CacheStats stats = validator.cacheStats();
+        assertEquals(11, stats.misses());
+        assertEquals(189, stats.hits());
+        assertEquals(11, stats.size());
+    }
+
+    /**
+     * El servicio debe rechazar una notificación inválida de inmediato, sin llegar al proveedor,
+     * y despachar las válidas con el destinatario normalizado.
+     */
+    @Test
+    @DisplayName("El servicio debe rechazar las notificaciones inválidas sin consumir intentos")
+    void serviceShouldRejectBeforeDispatch() {
+        CopyOnWriteArrayList<String> sentTo = new CopyOnWriteArrayList<>();
+        NotificationService service = new NotificationService(new RetryConfig(3, 10));
+        service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)) {
+            @Override
+            public void send(NotificationData notification) {
+                super.send(notification);
+                sentTo.add(notification.to());
+            }
+        });
+
+        NotificationResult rejected = service.sendAsync(ChannelType.SMS, sms("221331")).join();
+        NotificationResult sent = service.sendAsync(ChannelType.SMS, sms("+54 9 221 433-1331")).join();
+
+        assertEquals(NotificationStatus.REJECTED, rejected.status());
+        assertEquals(0, rejected.attempts());
+        assertInstanceOf(ValidationArgumentException.class, rejected.error());
+        assertEquals(NotificationStatus.SENT, sent.status());
+        assertEquals(1, sentTo.size());
+        assertEquals("+5492214331331", sentTo.get(0));
+    }
+
+    /**
+     * La capacidad de la caché de validación del servicio debe poder configurarse, incluso deshabilitarla.
+     */
+    @Test
+    @DisplayName("El servicio debe respetar la capacidad configurada de la caché de validación")
+    void serviceShouldHonorConfiguredCacheCapacity() {
+        for (int capacity : new int[]{0, 5}) {
+            NotificationService service = new NotificationService(new RetryConfig(1, 10), new ValidationConfig(capacity));
+            service.registerProvider(new SimulatedProvider("SimSms", SimulationProfile.healthy(ChannelType.SMS)));
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals(NotificationStatus.SENT, service.sendAsync(ChannelType.SMS, sms("+54 9 11 2222-" + (1000 + i))).join().status());
+            }
+
+            assertEquals(capacity, service.validationCacheStats().size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ValidationConfig(-1));
+    }
+}
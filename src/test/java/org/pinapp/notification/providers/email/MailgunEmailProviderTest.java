@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
 import org.pinapp.notification.api.record.EmailData;
 import org.pinapp.notification.api.record.NotificationData;
 import org.pinapp.notification.api.record.RetryConfig;
@@ -44,7 +45,7 @@ class MailgunEmailProviderTest {
             "Mundo",
             "Contenido de prueba",
             null,
-            null
+            NotificationPriority.MEDIUM
     );
 
     /**
@@ -0,0 +1,112 @@
+package org.pinapp.notification.providers.simulated;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.exceptions.ProviderRateLimitException;
+import org.pinapp.notification.api.record.EmailData;
+import org.pinapp.notification.api.record.NotificationData;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.core.NotificationService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del proveedor simulado utilizado por el generador de carga.
+ * <p>
+ * Verifica que los contadores sean consistentes bajo concurrencia, que se respeten las tasas de
+ * error configuradas y que las ventanas de caída y los rechazos por límite de tasa se comporten
+ * como un proveedor real.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class SimulatedProviderTest {
+
+    /** Datos de prueba compartidos entre escenarios. */
+    private final NotificationData testData = new EmailData(
+            "test@pinapp.com",
+            "destino@pinapp.com",
+            "Simulación",
+            "Contenido de prueba",
+            null,
+            NotificationPriority.MEDIUM
+    );
+
+    /**
+     * Lanza miles de envíos concurrentes y verifica que ninguna llamada se pierda en los contadores
+     * y que la proporción de errores se aproxime a la configurada.
+     */
+    @Test
+    @DisplayName("Debe contar correctamente las llamadas concurrentes y respetar la tasa de error")
+    void shouldKeepConsistentCountersUnderConcurrency() {
+        SimulatedProvider provider = new SimulatedProvider("Sim",
+                SimulationProfile.healthy(ChannelType.EMAIL).withErrorRate(0.2));
+        int calls = 20_000;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < calls; i++) {
+                executor.submit(() -> {
+                    try {
+                        provider.send(testData);
+                    } catch (RuntimeException ignored) {
+                        // Fallo simulado esperado
+                    }
+                });
+            }
+        }
+
+        SimulatedProvider.Stats stats = provider.stats();
+        assertEquals(calls, stats.calls());
+        assertEquals(calls, stats.successes() + stats.errors());
+        assertEquals(0.2, (double) stats.errors() / calls, 0.02);
+    }
+
+    /**
+     * Durante una ventana de caída todas las llamadas deben fallar sin consumir latencia.
+     */
+    @Test
+    @DisplayName("Debe rechazar todos los envíos durante una ventana de caída")
+    void shouldRejectEverySendDuringOutage() {
+        SimulatedProvider provider = new SimulatedProvider("Sim", SimulationProfile.healthy(ChannelType.EMAIL)
+                .withLatency(LatencyModel.fixed(Duration.ofSeconds(5)))
+                .withOutages(List.of(new OutageWindow(Duration.ZERO, Duration.ofMinutes(1)))));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(RuntimeException.class, () -> provider.send(testData));
+        }
+        assertEquals(10, provider.stats().outageRejections());
+        assertEquals(0, provider.stats().successes());
+    }
+
+    /**
+     * Un rechazo por límite de tasa debe informar su {@code Retry-After} y el servicio debe
+     * esperar al menos ese tiempo antes del siguiente intento, aunque el backoff sea menor.
+     */
+    @Test
+    @DisplayName("El servicio debe respetar el Retry-After de un rechazo por límite de tasa")
+    void shouldHonourRetryAfterFromRateLimit() {
+        SimulatedProvider provider = new SimulatedProvider("Sim", SimulationProfile.healthy(ChannelType.EMAIL)
+                .withRateLimitRate(1.0)
+                .withRetryAfter(Duration.ofMillis(150)));
+        ProviderRateLimitException rejection = assertThrows(ProviderRateLimitException.class, () -> provider.send(testData));
+        assertEquals(Duration.ofMillis(150), rejection.getRetryAfter());
+
+        NotificationService service = new NotificationService(new RetryConfig(2, 1));
+        service.registerProvider(provider);
+
+        NotificationResult result = service.sendAsync(ChannelType.EMAIL, testData).join();
+
+        assertEquals(NotificationStatus.FAILED, result.status());
+        assertEquals(2, result.attempts());
+        assertTrue(result.elapsed().compareTo(Duration.ofMillis(150)) >= 0,
+                "El reintento no respetó el Retry-After: " + result.elapsed());
+    }
+}
@@ -0,0 +1,230 @@
+package org.pinapp.notification.providers.slack;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
+import org.pinapp.notification.api.NotificationStatus;
+import org.pinapp.notification.api.record.NotificationResult;
+import org.pinapp.notification.api.record.RetryConfig;
+import org.pinapp.notification.api.record.SlackData;
+import org.pinapp.notification.core.NotificationService;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del proveedor de Slack contra un servidor HTTP local que emula los Incoming Webhooks.
+ * <p>
+ * Verifica la combinación de mensajes pendientes en un único post, el respeto del
+ * {@code Retry-After} ante un 429 sin bloquear otros webhooks, la propagación de errores definitivos, el
+ * cierre del proveedor con publicaciones en curso y el retiro de las colas inactivas.
+ * </p>
+ *
+ * @author Carlos Catacora
+ * @version 1.0
+ */
+class SlackWebhookProviderTest {
+
+    /** Servidor local que emula los webhooks de Slack. */
+    private HttpServer server;
+
+    /** Cuerpos recibidos por cada ruta de webhook. */
+    private final Map<String, List<String>> posts = new ConcurrentHashMap<>();
+
+    /** Instantes (nanoTime) de cada post recibido por ruta. */
+    private final Map<String, List<Long>> postTimes = new ConcurrentHashMap<>();
+
+    /** Cantidad de respuestas 429 pendientes de devolver por ruta. */
+    private final Map<String, AtomicInteger> rateLimitsToReturn = new ConcurrentHashMap<>();
+
+    private SlackWebhookProvider provider;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        provider = new SlackWebhookProvider(HttpClient.newHttpClient(), Duration.ofMillis(200), 50);
+        notificationService = new NotificationService(new RetryConfig(3, 10));
+        notificationService.registerProvider(provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        postTimes.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(System.nanoTime());
+
+        int status;
+        AtomicInteger remaining429 = rateLimitsToReturn.get(path);
+        if (path.endsWith("/slow")) {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            status = 200;
+        } else if (path.endsWith("/broken")) {
+            status = 500;
+        } else if (remaining429 != null && remaining429.getAndDecrement() > 0) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            status = 429;
+        } else {
+            posts.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(body);
+            status = 200;
+        }
+        byte[] response = (status == 200 ? "ok" : "error").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+
+    private String webhook(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private SlackData message(String path, String text) {
+        return new SlackData("alerts-bot", webhook(path), text, null, NotificationPriority.MEDIUM);
+    }
+
+    /**
+     * Una ráfaga de mensajes al mismo webhook debe publicarse en menos posts que mensajes,
+     * sin perder ninguno y respetando el intervalo mínimo entre posts.
+     */
+    @Test
+    @DisplayName("Debe combinar los mensajes pendientes de un webhook en un único post")
+    void shouldCoalescePendingMessages() {
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(notificationService.sendAsync(ChannelType.SLACK, message("/hooks/ops", "alerta-" + i)));
+        }
+
+        results.forEach(r -> assertEquals(NotificationStatus.SENT, r.join().status()));
+
+        List<String> received = posts.get("/hooks/ops");
+        assertTrue(received.size() < 20, "Se esperaban posts combinados, se recibieron " + received.size());
+        String all = String.join("", received);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(all.contains("alerta-" + i + "\\n") || all.contains("alerta-" + i + "\""), "Falta alerta-" + i);
+        }
+        List<Long> times = postTimes.get("/hooks/ops");
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i) - times.get(i - 1) >= Duration.ofMillis(190).toNanos(),
+                    "No se respetó el intervalo mínimo entre posts");
+        }
+    }
+
+    /**
+     * Un 429 en un webhook debe demorar solo a ese webhook el tiempo indicado por {@code Retry-After},
+     * sin consumir reintentos del servicio, mientras otro webhook publica de inmediato.
+     */
+    @Test
+    @DisplayName("Debe respetar Retry-After sin bloquear otros webhooks")
+    void shouldHonourRetryAfterWithoutBlockingOtherWebhooks() {
+        rateLimitsToReturn.put("/hooks/limited", new AtomicInteger(1));
+
+        CompletableFuture<NotificationResult> limited =
+                notificationService.sendAsync(ChannelType.SLACK, message("/hooks/limited", "lento"));
+        CompletableFuture<NotificationResult> other =
+                notificationService.sendAsync(ChannelType.SLACK, message("/hooks/free", "rapido"));
+
+        NotificationResult otherResult = other.join();
+        assertEquals(NotificationStatus.SENT, otherResult.status());
+        assertTrue(otherResult.elapsed().compareTo(Duration.ofMillis(800)) < 0,
+                "El webhook libre quedó bloqueado: " + otherResult.elapsed());
+
+        NotificationResult limitedResult = limited.join();
+        assertEquals(NotificationStatus.SENT, limitedResult.status());
+        assertEquals(1, limitedResult.attempts());
+        assertTrue(limitedResult.elapsed().compareTo(Duration.ofSeconds(1)) >= 0,
+                "No se respetó el Retry-After: " + limitedResult.elapsed());
+    }
+
+    /**
+     * Cerrar el proveedor con un post en curso debe fallar los mensajes de ese post en lugar de dejar
+     * a sus llamadores esperando indefinidamente.
+     */
+    @Test
+    @DisplayName("Debe fallar los mensajes en vuelo al cerrar el proveedor")
+    void closeShouldFailInFlightMessages() {
+        CompletableFuture<NotificationResult> result =
+                notificationService.sendAsync(ChannelType.SLACK, message("/hooks/slow", "en vuelo"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> postTimes.containsKey("/hooks/slow"));
+
+        provider.close();
+
+        NotificationResult failed = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> result.join());
+        assertEquals(NotificationStatus.FAILED, failed.status());
+    }
+
+    /**
+     * Un envío posterior al cierre debe fallar de inmediato, sin crear una cola que nadie detendría.
+     */
+    @Test
+    @DisplayName("Debe rechazar los envíos posteriores al cierre")
+    void sendAfterCloseShouldFailFast() {
+        provider.close();
+
+        NotificationResult result = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> notificationService.sendAsync(ChannelType.SLACK, message("/hooks/ops", "tarde")).join());
+        assertEquals(NotificationStatus.FAILED, result.status());
+        assertEquals(0, provider.activeLanes());
+    }
+
+    /**
+     * La cola de un webhook sin uso debe retirarse con su hilo, y recrearse si el webhook vuelve a usarse.
+     */
+    @Test
+    @DisplayName("Debe retirar las colas de webhooks inactivos")
+    void idleLanesShouldBeEvicted() {
+        try (SlackWebhookProvider idle = new SlackWebhookProvider(HttpClient.newHttpClient(), Duration.ofMillis(50), 50,
+                Duration.ofMillis(200))) {
+            NotificationService service = new NotificationService(new RetryConfig(1, 10));
+            service.registerProvider(idle);
+
+            assertEquals(NotificationStatus.SENT, service.sendAsync(ChannelType.SLACK, message("/hooks/a", "uno")).join().status());
+            assertEquals(NotificationStatus.SENT, service.sendAsync(ChannelType.SLACK, message("/hooks/b", "dos")).join().status());
+            await().atMost(Duration.ofSeconds(2)).until(() -> idle.activeLanes() == 0);
+
+            assertEquals(NotificationStatus.SENT, service.sendAsync(ChannelType.SLACK, message("/hooks/a", "tres")).join().status());
+            assertEquals(3, posts.get("/hooks/a").size() + posts.get("/hooks/b").size());
+        }
+    }
+
+    /**
+     * Los errores definitivos del webhook deben propagarse para que el servicio aplique su política de reintentos.
+     */
+    @Test
+    @DisplayName("Debe fallar el envío cuando el webhook responde con error")
+    void shouldFailWhenWebhookReturnsError() {
+        NotificationResult result = notificationService
+                .sendAsync(ChannelType.SLACK, message("/hooks/broken", "nunca")).join();
+
+        assertEquals(NotificationStatus.FAILED, result.status());
+        assertEquals(3, result.attempts());
+        assertTrue(result.error().getMessage().contains("500"));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pinapp.notification.api.ChannelType;
+import org.pinapp.notification.api.NotificationPriority;
 import org.pinapp.notification.api.record.RetryConfig;
 import org.pinapp.notification.api.record.SmsData;
 import org.pinapp.notification.core.NotificationService;
@@ -38,7 +39,7 @@ class TwilioSmsProviderTest {
     private TwilioSmsProvider mockProvider;
 
     /** Datos de prueba constantes para asegurar consistencia en los tests. */
-    private final SmsData testData = new SmsData("22113", "221331", "Mundo",  null, null);
+    private final SmsData testData = new SmsData("22113", "+542214331331", "Mundo",  null, NotificationPriority.MEDIUM);
 
     /**
      * Configuración inicial antes de cada caso de prueba.